@@ -0,0 +1,267 @@
+package net.cryptic_game.backend.processor.api;
+
+import com.google.auto.service.AutoService;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedSourceVersion;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Generates a {@code <Collection>_ApiEndpoints} class for every {@code @ApiEndpointCollection}, which contains the
+ * precomputed parameter tables of all endpoints and calls the endpoint methods directly.
+ * The generated classes are picked up by the {@code ApiEndpointCollectionParser}, collections without a generated
+ * class are still parsed with reflection.
+ */
+@AutoService(Processor.class)
+@SupportedSourceVersion(SourceVersion.RELEASE_11)
+@SupportedAnnotationTypes(ApiEndpointProcessor.COLLECTION_ANNOTATION)
+public class ApiEndpointProcessor extends AbstractProcessor {
+
+    static final String COLLECTION_ANNOTATION = "net.cryptic_game.backend.base.api.annotations.ApiEndpointCollection";
+    private static final String ENDPOINT_ANNOTATION = "net.cryptic_game.backend.base.api.annotations.ApiEndpoint";
+    private static final String PARAMETER_ANNOTATION = "net.cryptic_game.backend.base.api.annotations.ApiParameter";
+
+    private static final String SUFFIX = "_ApiEndpoints";
+    private static final String REGISTRY = "net.cryptic_game.backend.base.api.parser.ApiEndpointRegistry";
+    private static final String ENDPOINT_DATA = "net.cryptic_game.backend.base.api.data.ApiEndpointData";
+    private static final String PARAMETER_DATA = "net.cryptic_game.backend.base.api.data.ApiParameterData";
+    private static final String PARAMETER_TYPE = "net.cryptic_game.backend.base.api.data.ApiParameterType";
+    private static final String SCHEDULER_TYPE = "net.cryptic_game.backend.base.api.data.ApiSchedulerType";
+    private static final String RESPONSE_CACHE = "net.cryptic_game.backend.base.api.cache.ApiResponseCache";
+    private static final String AUTHENTICATOR = "net.cryptic_game.backend.base.api.ApiAuthenticator";
+    private static final List<String> RETURN_TYPES = List.of(
+            "net.cryptic_game.backend.base.api.data.ApiResponse",
+            "reactor.core.publisher.Mono",
+            "reactor.core.publisher.Flux"
+    );
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        annotations.stream()
+                .flatMap(annotation -> ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(annotation)).stream())
+                .filter(type -> type.getKind() == ElementKind.CLASS)
+                .forEach(this::processCollection);
+
+        return false;
+    }
+
+    private void processCollection(final TypeElement type) {
+        if (type.getEnclosingElement().getKind() != ElementKind.PACKAGE) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                    "Nested endpoint collections are parsed with reflection.", type);
+            return;
+        }
+
+        final List<ExecutableElement> methods = ElementFilter.methodsIn(type.getEnclosedElements()).stream()
+                .filter(method -> this.findAnnotation(method, ENDPOINT_ANNOTATION) != null)
+                .collect(Collectors.toList());
+
+        for (final ExecutableElement method : methods) {
+            if (method.getModifiers().contains(Modifier.PRIVATE)) {
+                this.processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        "Private endpoint methods can not be called directly, the collection is parsed with reflection.", method);
+                return;
+            }
+
+            final String returnType = this.processingEnv.getTypeUtils().erasure(method.getReturnType()).toString();
+            if (!RETURN_TYPES.contains(returnType)) {
+                this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        String.format("Endpoint has to return %s, %s<%s> or %s.",
+                                RETURN_TYPES.get(0), RETURN_TYPES.get(1), RETURN_TYPES.get(0), RETURN_TYPES.get(2)), method);
+                return;
+            }
+
+            final boolean singleFlight = (Boolean) this.values(this.findAnnotation(method, ENDPOINT_ANNOTATION)).get("singleFlight");
+            for (final VariableElement parameter : method.getParameters()) {
+                final AnnotationMirror annotation = this.findAnnotation(parameter, PARAMETER_ANNOTATION);
+                if (annotation == null) {
+                    this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                            String.format("Parameter is missing annotation %s.", PARAMETER_ANNOTATION), parameter);
+                    return;
+                }
+
+                if (singleFlight && ((VariableElement) this.values(annotation).get("type")).getSimpleName().contentEquals("REQUEST")) {
+                    this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                            "Single flight endpoints can not have a REQUEST parameter.", parameter);
+                    return;
+                }
+            }
+        }
+
+        try {
+            this.generate(type, methods);
+        } catch (IOException e) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    String.format("Unable to generate endpoint registry: %s", e.getMessage()), type);
+        }
+    }
+
+    private void generate(final TypeElement type, final List<ExecutableElement> methods) throws IOException {
+        final String packageName = ((PackageElement) type.getEnclosingElement()).getQualifiedName().toString();
+        final String typeName = type.getQualifiedName().toString();
+        final String className = type.getSimpleName() + SUFFIX;
+
+        try (PrintWriter writer = new PrintWriter(this.processingEnv.getFiler()
+                .createSourceFile(packageName.isEmpty() ? className : packageName + "." + className, type)
+                .openWriter())) {
+
+            if (!packageName.isEmpty()) writer.printf("package %s;%n%n", packageName);
+
+            writer.printf("@javax.annotation.processing.Generated(\"%s\")%n", ApiEndpointProcessor.class.getName());
+            writer.printf("@SuppressWarnings(\"unchecked\")%n");
+            writer.printf("public final class %s implements %s {%n", className, REGISTRY);
+
+            for (int i = 0; i < methods.size(); i++) {
+                writer.printf("%n    private static final %s[] PARAMETERS_%d = {%n", PARAMETER_DATA, i);
+                for (final VariableElement parameter : methods.get(i).getParameters()) {
+                    final Map<String, Object> values = this.values(this.findAnnotation(parameter, PARAMETER_ANNOTATION));
+                    writer.printf("            new %s(%s, %s, %s, %s.class, %s.%s),%n",
+                            PARAMETER_DATA,
+                            literal((String) values.get("id")),
+                            values.get("required"),
+                            literal(join(values.get("description"))),
+                            this.processingEnv.getTypeUtils().erasure(parameter.asType()),
+                            PARAMETER_TYPE,
+                            ((VariableElement) values.get("type")).getSimpleName());
+                }
+                writer.printf("    };%n");
+            }
+
+            writer.printf("%n    @Override%n");
+            writer.printf("    public java.util.Map<String, %s> createEndpoints(%n", ENDPOINT_DATA);
+            writer.printf("            final Object instance, final boolean disabled, final %s authenticator) {%n", AUTHENTICATOR);
+            writer.printf("        final %s collection = (%s) instance;%n", typeName, typeName);
+            writer.printf("        return java.util.Map.ofEntries(");
+
+            for (int i = 0; i < methods.size(); i++) {
+                final ExecutableElement method = methods.get(i);
+                final Map<String, Object> values = this.values(this.findAnnotation(method, ENDPOINT_ANNOTATION));
+                final String id = literal((String) values.get("id"));
+
+                writer.printf("%s%n                java.util.Map.entry(%s, %s.builder()", i == 0 ? "" : ",", id, ENDPOINT_DATA);
+                writer.printf("%n                        .description(%s)", literal(join(values.get("description"))));
+                writer.printf("%n                        .authentication(%s)", values.get("authentication"));
+                writer.printf("%n                        .clazz(%s.class)", typeName);
+                writer.printf("%n                        .disabled(%s || disabled)", values.get("disabled"));
+                writer.printf("%n                        .authenticator(authenticator)");
+                writer.printf("%n                        .id(%s)", id);
+                writer.printf("%n                        .parameters(PARAMETERS_%d)", i);
+                writer.printf("%n                        .instance(instance)");
+                writer.printf("%n                        .invoker(parameters -> %s.%s(%s))",
+                        method.getModifiers().contains(Modifier.STATIC) ? typeName : "collection",
+                        method.getSimpleName(),
+                        this.arguments(method));
+                writer.printf("%n                        .schedulerType(%s.%s)",
+                        SCHEDULER_TYPE,
+                        ((VariableElement) values.get("scheduler")).getSimpleName());
+                writer.printf("%n                        .synchronous(%s)",
+                        this.processingEnv.getTypeUtils().erasure(method.getReturnType()).toString().equals(RETURN_TYPES.get(0)));
+
+                final Map<String, Object> cache = this.values((AnnotationMirror) values.get("cache"));
+                writer.printf("%n                        .cache(%s.create(%sL, new String[]{%s}, %s, %s))",
+                        RESPONSE_CACHE,
+                        cache.get("ttl"),
+                        strings(cache.get("key")),
+                        literal((String) cache.get("condition")),
+                        cache.get("size"));
+                writer.printf("%n                        .singleFlight(%s)", values.get("singleFlight"));
+                writer.printf("%n                        .maxInFlight(%d)", Math.max((Integer) values.get("maxInFlight"), 0));
+                writer.printf("%n                        .build())");
+            }
+
+            writer.printf("%n        );%n");
+            writer.printf("    }%n");
+            writer.printf("}%n");
+        }
+    }
+
+    private String arguments(final ExecutableElement method) {
+        final List<? extends VariableElement> parameters = method.getParameters();
+        final StringBuilder builder = new StringBuilder();
+
+        for (int i = 0; i < parameters.size(); i++) {
+            if (i != 0) builder.append(", ");
+            builder.append('(')
+                    .append(this.processingEnv.getTypeUtils().erasure(parameters.get(i).asType()))
+                    .append(") parameters[")
+                    .append(i)
+                    .append(']');
+        }
+
+        return builder.toString();
+    }
+
+    private AnnotationMirror findAnnotation(final Element element, final String annotation) {
+        for (final AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private Map<String, Object> values(final AnnotationMirror mirror) {
+        return this.processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet().stream()
+                .collect(Collectors.toMap(entry -> entry.getKey().getSimpleName().toString(), entry -> entry.getValue().getValue()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String join(final Object values) {
+        return ((List<? extends AnnotationValue>) values).stream()
+                .map(value -> (String) value.getValue())
+                .collect(Collectors.joining("\n"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String strings(final Object values) {
+        return ((List<? extends AnnotationValue>) values).stream()
+                .map(value -> literal((String) value.getValue()))
+                .collect(Collectors.joining(", "));
+    }
+
+    private static String literal(final String value) {
+        final StringBuilder builder = new StringBuilder("\"");
+        for (final char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    builder.append(c);
+            }
+        }
+        return builder.append('"').toString();
+    }
+}
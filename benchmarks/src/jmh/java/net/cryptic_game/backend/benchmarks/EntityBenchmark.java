@@ -0,0 +1,103 @@
+package net.cryptic_game.backend.benchmarks;
+
+import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonWriter;
+import net.cryptic_game.backend.base.jpa.model.TableModelAutoId;
+import net.cryptic_game.backend.base.json.JsonUtils;
+import net.cryptic_game.backend.data.sql.entities.chat.ChatChannel;
+import net.cryptic_game.backend.data.sql.entities.chat.ChatMessage;
+import net.cryptic_game.backend.data.sql.entities.device.Device;
+import net.cryptic_game.backend.data.sql.entities.network.Network;
+import net.cryptic_game.backend.data.sql.entities.network.NetworkMember;
+import net.cryptic_game.backend.data.sql.entities.user.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes lists of entities, as the list endpoints return them, into a json tree and streamed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EntityBenchmark {
+
+    @Param({"1", "50"})
+    private int size;
+
+    private List<ChatMessage> messages;
+    private List<NetworkMember> members;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        final OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        final User user = persisted(new User("benchmark", now, now));
+        final User target = persisted(new User("target", now, now));
+        final ChatChannel channel = persisted(new ChatChannel("general"));
+        final Device device = persisted(new Device("device", user, true));
+        final Network network = persisted(new Network("network", device, true, now));
+
+        this.messages = new ArrayList<>(this.size);
+        this.members = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            this.messages.add(persisted(new ChatMessage(user, channel, now, "message " + i, i % 2 == 0 ? null : target)));
+
+            final NetworkMember member = new NetworkMember(network, persisted(new Device("device " + i, user, true)));
+            member.setVersion(0L);
+            this.members.add(member);
+        }
+    }
+
+    @Benchmark
+    public JsonElement chatMessagesTree() {
+        return JsonUtils.toJson(this.messages);
+    }
+
+    @Benchmark
+    public JsonWriter chatMessagesStream() throws IOException {
+        return stream(this.messages);
+    }
+
+    @Benchmark
+    public JsonElement networkMembersTree() {
+        return JsonUtils.toJson(this.members);
+    }
+
+    @Benchmark
+    public JsonWriter networkMembersStream() throws IOException {
+        return stream(this.members);
+    }
+
+    private static JsonWriter stream(final Object value) throws IOException {
+        final JsonWriter writer = new JsonWriter(Writer.nullWriter());
+        JsonUtils.write(value, writer);
+        writer.flush();
+        return writer;
+    }
+
+    /**
+     * Sets the id and version, which are usually set by hibernate.
+     */
+    private static <T extends TableModelAutoId> T persisted(final T entity) throws ReflectiveOperationException {
+        final Field id = TableModelAutoId.class.getDeclaredField("id");
+        id.setAccessible(true);
+        id.set(entity, UUID.randomUUID());
+        entity.setVersion(0L);
+        return entity;
+    }
+}
@@ -0,0 +1,104 @@
+package net.cryptic_game.backend.benchmarks;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import net.cryptic_game.backend.base.json.JsonBuilder;
+import net.cryptic_game.backend.base.json.JsonUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JsonBenchmark {
+
+    private Sample sample;
+    private JsonElement sampleJson;
+    private Instant instant;
+    private JsonElement instantJson;
+    private OffsetDateTime offsetDateTime;
+    private JsonElement offsetDateTimeJson;
+
+    @Setup
+    public void setup() {
+        this.sample = Sample.create();
+        this.sampleJson = JsonUtils.toJson(this.sample);
+        this.instant = Instant.now();
+        this.instantJson = JsonUtils.toJson(this.instant);
+        this.offsetDateTime = OffsetDateTime.now(ZoneOffset.UTC);
+        this.offsetDateTimeJson = JsonUtils.toJson(this.offsetDateTime);
+    }
+
+    @Benchmark
+    public JsonObject jsonBuilder() {
+        return JsonBuilder.create("id", this.sample.id)
+                .add("name", this.sample.name)
+                .add("created", this.sample.created)
+                .add("size", this.sample.size)
+                .add("public", this.sample.isPublic)
+                .build();
+    }
+
+    @Benchmark
+    public JsonElement toJson() {
+        return JsonUtils.toJson(this.sample);
+    }
+
+    @Benchmark
+    public Sample fromJson() {
+        return JsonUtils.fromJson(this.sampleJson, Sample.class);
+    }
+
+    @Benchmark
+    public JsonElement serializeInstant() {
+        return JsonUtils.toJson(this.instant);
+    }
+
+    @Benchmark
+    public Instant deserializeInstant() {
+        return JsonUtils.fromJson(this.instantJson, Instant.class);
+    }
+
+    @Benchmark
+    public JsonElement serializeOffsetDateTime() {
+        return JsonUtils.toJson(this.offsetDateTime);
+    }
+
+    @Benchmark
+    public OffsetDateTime deserializeOffsetDateTime() {
+        return JsonUtils.fromJson(this.offsetDateTimeJson, OffsetDateTime.class);
+    }
+
+    /**
+     * A plain object, which is serialized with reflection.
+     */
+    public static final class Sample {
+
+        private UUID id;
+        private String name;
+        private OffsetDateTime created;
+        private int size;
+        private boolean isPublic;
+
+        static Sample create() {
+            final Sample sample = new Sample();
+            sample.id = UUID.randomUUID();
+            sample.name = "benchmark";
+            sample.created = OffsetDateTime.now(ZoneOffset.UTC);
+            sample.size = 42;
+            sample.isPublic = true;
+            return sample;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package net.cryptic_game.backend.benchmarks;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import net.cryptic_game.backend.base.api.codec.ApiCodec;
+import net.cryptic_game.backend.base.api.codec.ApiCodecs;
+import net.cryptic_game.backend.base.api.data.ApiResponse;
+import net.cryptic_game.backend.base.api.handler.ApiResponseWriter;
+import net.cryptic_game.backend.base.api.handler.websocket.WebsocketApiRoute;
+import net.cryptic_game.backend.base.json.JsonUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes complete responses into pooled buffers, like the websocket and rest routes do.
+ * {@code tree} responses carry a prebuilt json tree, the others an object which is serialized while writing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ResponseBenchmark {
+
+    private static final ByteBufAllocator ALLOCATOR = PooledByteBufAllocator.DEFAULT;
+
+    @Param({"json", "cbor"})
+    private String codecName;
+
+    @Param({"false", "true"})
+    private boolean tree;
+
+    private ApiCodec codec;
+    private ApiResponse response;
+    private ApiResponse error;
+
+    @Setup
+    public void setup() {
+        final JsonBenchmark.Sample sample = JsonBenchmark.Sample.create();
+        this.codec = ApiCodecs.get(this.codecName);
+        this.response = new ApiResponse(HttpResponseStatus.OK, this.tree ? JsonUtils.toJson(sample) : sample);
+        this.response.setTag("8c4b0c3e-6a0e-4b0e-9d1b-3c3f2c4d5e6f");
+        this.error = new ApiResponse(HttpResponseStatus.NOT_FOUND, "DEVICE_NOT_FOUND");
+        this.error.setTag(this.response.getTag());
+    }
+
+    @Benchmark
+    public int websocketResponse() {
+        return release(ApiResponseWriter.write(ALLOCATOR, this.codec, writer -> WebsocketApiRoute.writeResponse(writer, this.response)));
+    }
+
+    @Benchmark
+    public int websocketError() {
+        return release(ApiResponseWriter.write(ALLOCATOR, this.codec, writer -> WebsocketApiRoute.writeResponse(writer, this.error)));
+    }
+
+    @Benchmark
+    public int restResponse() {
+        return release(ApiResponseWriter.write(ALLOCATOR, writer -> ApiResponseWriter.writeBody(writer, this.response)));
+    }
+
+    private static int release(final ByteBuf buffer) {
+        final int length = buffer.readableBytes();
+        buffer.release();
+        return length;
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * JMH benchmarks of the json and response layer, run with {@code ./gradlew :benchmarks:jmh}.
+ */
+package net.cryptic_game.backend.benchmarks;
@@ -0,0 +1,16 @@
+package net.cryptic_game.backend.base.api;
+
+import lombok.Getter;
+import net.cryptic_game.backend.base.config.Config;
+import org.springframework.beans.factory.annotation.Value;
+
+@Getter
+@Config
+public final class ApiConfig {
+
+    /**
+     * Run all endpoints returning an {@link net.cryptic_game.backend.base.api.data.ApiResponse} on virtual threads (JDK 21+).
+     */
+    @Value("${API_VIRTUAL_THREADS:false}")
+    private boolean virtualThreads;
+}
@@ -3,6 +3,7 @@ package net.cryptic_game.backend.base.api;
 import net.cryptic_game.backend.base.api.annotations.ApiEndpointCollection;
 import net.cryptic_game.backend.base.api.data.ApiEndpointCollectionData;
 import net.cryptic_game.backend.base.api.data.ApiType;
+import net.cryptic_game.backend.base.api.executor.ApiSchedulers;
 import net.cryptic_game.backend.base.api.parser.ApiEndpointCollectionParser;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
@@ -24,8 +25,9 @@ public class ApiConfiguration {
     @Bean
     Set<ApiEndpointCollectionData> collections(
             @ApiEndpointCollection(id = "", type = ApiType.ALL) final Collection<Object> collections,
-            final ApplicationContext context
+            final ApplicationContext context,
+            final ApiSchedulers schedulers
     ) {
-        return ApiEndpointCollectionParser.parseCollections(collections, context::getBean);
+        return ApiEndpointCollectionParser.parseCollections(collections, context::getBean, schedulers);
     }
 }
@@ -0,0 +1,34 @@
+package net.cryptic_game.backend.base.api.annotations;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Caches the successful responses of an {@link ApiEndpoint}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({})
+public @interface ApiCache {
+
+    /**
+     * Time to live in seconds, {@code 0} disables the cache.
+     */
+    long ttl() default 0;
+
+    /**
+     * Ids of the parameters the cache key is built from.
+     */
+    String[] key() default {};
+
+    /**
+     * Id of a boolean parameter, only requests where it is {@code true} are cached. Empty to cache all requests.
+     * Allows caching the shared variant of an endpoint without keying it by its per-user parameters.
+     */
+    String condition() default "";
+
+    /**
+     * Maximal number of cached responses.
+     */
+    int size() default 1024;
+}
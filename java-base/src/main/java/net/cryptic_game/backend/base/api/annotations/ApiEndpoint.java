@@ -1,5 +1,7 @@
 package net.cryptic_game.backend.base.api.annotations;
 
+import net.cryptic_game.backend.base.api.data.ApiSchedulerType;
+
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -16,4 +18,19 @@ public @interface ApiEndpoint {
     int authentication() default 0;
 
     boolean disabled() default false;
+
+    ApiSchedulerType scheduler() default ApiSchedulerType.INHERIT;
+
+    ApiCache cache() default @ApiCache;
+
+    /**
+     * Lets concurrent requests with the same parameters share one execution.
+     * Only for read-only endpoints without {@link net.cryptic_game.backend.base.api.data.ApiParameterType#REQUEST} parameters.
+     */
+    boolean singleFlight() default false;
+
+    /**
+     * Maximal number of requests to this endpoint in flight per websocket connection, {@code 0} for only the connection limit.
+     */
+    int maxInFlight() default 0;
 }
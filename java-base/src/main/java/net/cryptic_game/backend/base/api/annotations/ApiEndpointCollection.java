@@ -2,6 +2,7 @@ package net.cryptic_game.backend.base.api.annotations;
 
 import net.cryptic_game.backend.base.api.ApiAuthenticator;
 import net.cryptic_game.backend.base.api.DefaultApiAuthenticator;
+import net.cryptic_game.backend.base.api.data.ApiSchedulerType;
 import net.cryptic_game.backend.base.api.data.ApiType;
 import org.springframework.stereotype.Component;
 
@@ -26,4 +27,16 @@ public @interface ApiEndpointCollection {
     boolean disabled() default false;
 
     Class<? extends ApiAuthenticator> authenticator() default DefaultApiAuthenticator.class;
+
+    ApiSchedulerType scheduler() default ApiSchedulerType.EVENT_LOOP;
+
+    /**
+     * Threads of the {@link ApiSchedulerType#DEDICATED} scheduler.
+     */
+    int schedulerThreads() default 4;
+
+    /**
+     * Queued requests of the {@link ApiSchedulerType#DEDICATED} scheduler before new requests get rejected.
+     */
+    int schedulerQueue() default 256;
 }
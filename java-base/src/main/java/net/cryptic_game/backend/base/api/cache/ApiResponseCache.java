@@ -0,0 +1,98 @@
+package net.cryptic_game.backend.base.api.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import net.cryptic_game.backend.base.api.data.ApiResponse;
+import net.cryptic_game.backend.base.api.executor.ApiParameterBinder;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Response cache of one endpoint, see {@link net.cryptic_game.backend.base.api.annotations.ApiCache}.
+ * The key is built from the bound parameter values, so differently encoded requests for the same values share an entry.
+ */
+public final class ApiResponseCache {
+
+    private final String[] key;
+    private final String condition;
+    private final Cache<List<Object>, ApiResponse> cache;
+    private ApiParameterBinder binder;
+    private int[] keyPositions;
+    private int conditionPosition = -1;
+
+    private ApiResponseCache(final Duration ttl, final String[] key, final String condition, final int size) {
+        this.key = key;
+        this.condition = condition.isEmpty() ? null : condition;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(size)
+                .build();
+    }
+
+    /**
+     * @return the cache, or {@code null} if {@code ttl} is {@code 0}
+     */
+    public static ApiResponseCache create(final long ttl, final String[] key, final String condition, final int size) {
+        return ttl <= 0 ? null : new ApiResponseCache(Duration.ofSeconds(ttl), key, condition, size);
+    }
+
+    /**
+     * Resolves the key and the condition to the positions of their parameters, has to be called before the cache is used.
+     */
+    public void bind(final ApiParameterBinder parameterBinder) {
+        final int[] positions = new int[this.key.length];
+        for (int i = 0; i < this.key.length; i++) positions[i] = getPosition(parameterBinder, this.key[i]);
+
+        this.conditionPosition = this.condition == null ? -1 : getPosition(parameterBinder, this.condition);
+        this.keyPositions = positions;
+        this.binder = parameterBinder;
+    }
+
+    /**
+     * @param values the bound parameter values of the request
+     * @return the key of the request, or {@code null} if the request does not meet the condition and must not be cached
+     */
+    public List<Object> getKey(final Object[] values) {
+        if (this.conditionPosition != -1 && !Boolean.TRUE.equals(values[this.conditionPosition])) return null;
+
+        final Object[] key = new Object[this.keyPositions.length];
+        for (int i = 0; i < key.length; i++) key[i] = values[this.keyPositions[i]];
+        return Arrays.asList(key);
+    }
+
+    /**
+     * @return a copy of the cached response, or {@code null}
+     */
+    public ApiResponse get(final List<Object> key) {
+        final ApiResponse response = this.cache.getIfPresent(key);
+        return response == null ? null : response.copy();
+    }
+
+    public void put(final List<Object> key, final ApiResponse response) {
+        this.cache.put(key, response.copy());
+    }
+
+    /**
+     * @param values the values of the key parameters, in the order of {@link net.cryptic_game.backend.base.api.annotations.ApiCache#key()},
+     *               they are converted like the parameters are bound
+     */
+    public void invalidate(final Object... values) {
+        if (values.length != this.keyPositions.length) throw new IllegalArgumentException("Expected " + this.keyPositions.length + " key values.");
+
+        final Object[] key = new Object[values.length];
+        for (int i = 0; i < values.length; i++) key[i] = this.binder.convert(this.keyPositions[i], values[i]);
+        this.cache.invalidate(Arrays.asList(key));
+    }
+
+    public void invalidateAll() {
+        this.cache.invalidateAll();
+    }
+
+    private static int getPosition(final ApiParameterBinder parameterBinder, final String id) {
+        final int position = parameterBinder.getPosition(id);
+        if (position == -1) throw new IllegalArgumentException("The cache refers to the unknown parameter " + id + ".");
+        return position;
+    }
+}
@@ -0,0 +1,30 @@
+package net.cryptic_game.backend.base.api.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Invalidation hooks for the response caches, by the full endpoint id (e.g. {@code network/public}).
+ */
+public final class ApiResponseCaches {
+
+    private static final Map<String, ApiResponseCache> CACHES = new ConcurrentHashMap<>();
+
+    private ApiResponseCaches() {
+        throw new UnsupportedOperationException();
+    }
+
+    public static void register(final String endpoint, final ApiResponseCache cache) {
+        CACHES.put(endpoint, cache);
+    }
+
+    public static void invalidate(final String endpoint, final Object... key) {
+        final ApiResponseCache cache = CACHES.get(endpoint);
+        if (cache != null) cache.invalidate(key);
+    }
+
+    public static void invalidateAll(final String endpoint) {
+        final ApiResponseCache cache = CACHES.get(endpoint);
+        if (cache != null) cache.invalidateAll();
+    }
+}
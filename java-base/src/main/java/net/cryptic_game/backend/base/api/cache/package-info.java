@@ -0,0 +1,4 @@
+/**
+ * This package contains the response cache of the api system.
+ */
+package net.cryptic_game.backend.base.api.cache;
@@ -0,0 +1,41 @@
+package net.cryptic_game.backend.base.api.codec;
+
+import com.google.gson.stream.JsonWriter;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+
+import java.io.IOException;
+
+/**
+ * Encoding of the api protocol, negotiated through the {@code Sec-WebSocket-Protocol} header.
+ * Everything is written through a {@link JsonWriter}, so responses, entities and notifications are encoded by the same code for every codec.
+ */
+public interface ApiCodec {
+
+    /**
+     * @return the name of the websocket subprotocol
+     */
+    String getSubprotocol();
+
+    /**
+     * @return if the frames are binary instead of text frames
+     */
+    boolean isBinary();
+
+    /**
+     * @return a writer which encodes into the end of the buffer
+     */
+    JsonWriter newWriter(ByteBuf out) throws IOException;
+
+    /**
+     * Writes a string as complete value, e.g. to splice a tag into a pre-encoded frame.
+     */
+    void writeString(ByteBuf out, String value);
+
+    /**
+     * Converts a received frame into utf-8 encoded json, which is read by the request parser.
+     *
+     * @return the frame itself if it already is json, otherwise a new buffer owned by the caller
+     */
+    ByteBuf toJson(ByteBufAllocator allocator, ByteBuf frame) throws IOException;
+}
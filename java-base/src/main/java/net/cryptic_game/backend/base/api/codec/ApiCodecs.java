@@ -0,0 +1,36 @@
+package net.cryptic_game.backend.base.api.codec;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public final class ApiCodecs {
+
+    public static final ApiCodec JSON = new JsonApiCodec();
+    public static final ApiCodec CBOR = new CborApiCodec();
+
+    private static final List<ApiCodec> CODECS = List.of(JSON, CBOR);
+    private static final Map<String, ApiCodec> BY_SUBPROTOCOL = CODECS.stream()
+            .collect(Collectors.toUnmodifiableMap(ApiCodec::getSubprotocol, Function.identity()));
+
+    private ApiCodecs() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * @return the supported subprotocols, comma separated as expected by the websocket handshake
+     */
+    public static String getSubprotocols() {
+        return CODECS.stream().map(ApiCodec::getSubprotocol).collect(Collectors.joining(","));
+    }
+
+    /**
+     * @param subprotocol the selected subprotocol, {@code null} if the client did not request one
+     * @return the codec, json by default
+     */
+    public static ApiCodec get(final String subprotocol) {
+        if (subprotocol == null) return JSON;
+        return BY_SUBPROTOCOL.getOrDefault(subprotocol, JSON);
+    }
+}
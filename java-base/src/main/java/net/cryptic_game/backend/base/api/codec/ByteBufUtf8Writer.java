@@ -0,0 +1,92 @@
+package net.cryptic_game.backend.base.api.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+/**
+ * Encodes utf-8 straight into a {@link ByteBuf}, without the char buffer and the {@link java.nio.charset.CharsetEncoder}
+ * an {@link java.io.OutputStreamWriter} allocates for every writer.
+ */
+final class ByteBufUtf8Writer extends Writer {
+
+    private final ByteBuf out;
+
+    /**
+     * A high surrogate at the end of a write, which is encoded together with the low surrogate of the next write.
+     */
+    private char highSurrogate;
+
+    ByteBufUtf8Writer(final ByteBuf out) {
+        this.out = out;
+    }
+
+    @Override
+    public void write(final int c) {
+        final char current = (char) c;
+        if (this.highSurrogate != 0) {
+            final char high = this.highSurrogate;
+            this.highSurrogate = 0;
+            if (Character.isLowSurrogate(current)) {
+                ByteBufUtil.writeUtf8(this.out, new String(new char[]{high, current}));
+                return;
+            }
+            this.out.writeByte('?');
+        }
+
+        if (current < 0x80) this.out.writeByte(current);
+        else if (Character.isHighSurrogate(current)) this.highSurrogate = current;
+        else ByteBufUtil.writeUtf8(this.out, String.valueOf(current));
+    }
+
+    @Override
+    public void write(final char[] buffer, final int offset, final int length) {
+        this.write(CharBuffer.wrap(buffer, offset, length), 0, length);
+    }
+
+    @Override
+    public void write(final String value, final int offset, final int length) {
+        this.write((CharSequence) value, offset, offset + length);
+    }
+
+    @Override
+    public Writer append(final CharSequence value) {
+        final CharSequence sequence = value == null ? "null" : value;
+        this.write(sequence, 0, sequence.length());
+        return this;
+    }
+
+    @Override
+    public Writer append(final CharSequence value, final int start, final int end) {
+        this.write(value == null ? "null" : value, start, end);
+        return this;
+    }
+
+    private void write(final CharSequence value, final int start, final int end) {
+        if (start == end) return;
+
+        int from = start;
+        if (this.highSurrogate != 0) this.write(value.charAt(from++));
+        if (from == end) return;
+
+        final boolean split = Character.isHighSurrogate(value.charAt(end - 1));
+        final int to = split ? end - 1 : end;
+        if (from < to) ByteBufUtil.writeUtf8(this.out, value, from, to);
+        if (split) this.highSurrogate = value.charAt(to);
+    }
+
+    @Override
+    public void flush() {
+        // everything is written into the buffer immediately
+    }
+
+    @Override
+    public void close() {
+        if (this.highSurrogate != 0) {
+            this.highSurrogate = 0;
+            this.out.writeByte('?');
+        }
+    }
+}
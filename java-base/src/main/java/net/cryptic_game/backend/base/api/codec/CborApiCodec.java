@@ -0,0 +1,72 @@
+package net.cryptic_game.backend.base.api.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.google.gson.stream.JsonWriter;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.ByteBufUtil;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * <a href="https://tools.ietf.org/html/rfc8949">CBOR</a>, the data model is the same as of the json protocol.
+ */
+final class CborApiCodec implements ApiCodec {
+
+    private final CBORFactory cborFactory = new CBORFactory();
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Override
+    public String getSubprotocol() {
+        return "cbor";
+    }
+
+    @Override
+    public boolean isBinary() {
+        return true;
+    }
+
+    @Override
+    public JsonWriter newWriter(final ByteBuf out) throws IOException {
+        return new JacksonJsonWriter(this.cborFactory.createGenerator((OutputStream) new ByteBufOutputStream(out)), this.jsonFactory);
+    }
+
+    /**
+     * Writes a definite length text string (major type 3).
+     */
+    @Override
+    public void writeString(final ByteBuf out, final String value) {
+        final int length = ByteBufUtil.utf8Bytes(value);
+        if (length < 24) {
+            out.writeByte(0x60 | length);
+        } else if (length < 0x100) {
+            out.writeByte(0x78).writeByte(length);
+        } else if (length < 0x10000) {
+            out.writeByte(0x79).writeShort(length);
+        } else {
+            out.writeByte(0x7a).writeInt(length);
+        }
+        ByteBufUtil.writeUtf8(out, value);
+    }
+
+    @Override
+    public ByteBuf toJson(final ByteBufAllocator allocator, final ByteBuf frame) throws IOException {
+        final ByteBuf json = allocator.buffer();
+        // the netty streams are also DataInput/DataOutput, the casts select the stream overloads
+        try (JsonParser parser = this.cborFactory.createParser((InputStream) new ByteBufInputStream(frame.duplicate()));
+             JsonGenerator generator = this.jsonFactory.createGenerator((OutputStream) new ByteBufOutputStream(json))) {
+            if (parser.nextToken() != null) generator.copyCurrentStructure(parser);
+        } catch (IOException | RuntimeException e) {
+            json.release();
+            throw e;
+        }
+        return json;
+    }
+}
@@ -0,0 +1,185 @@
+package net.cryptic_game.backend.base.api.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link JsonWriter} which writes through a Jackson {@link JsonGenerator}, so Gson can write into binary formats.
+ */
+final class JacksonJsonWriter extends JsonWriter {
+
+    private static final Writer UNUSED = Writer.nullWriter();
+    private final JsonGenerator generator;
+    private final JsonFactory jsonFactory;
+    private String deferredName;
+
+    JacksonJsonWriter(final JsonGenerator generator, final JsonFactory jsonFactory) {
+        super(UNUSED);
+        this.generator = generator;
+        this.jsonFactory = jsonFactory;
+        this.setSerializeNulls(true);
+    }
+
+    @Override
+    public JsonWriter beginArray() throws IOException {
+        this.writeDeferredName();
+        this.generator.writeStartArray();
+        return this;
+    }
+
+    @Override
+    public JsonWriter endArray() throws IOException {
+        this.generator.writeEndArray();
+        return this;
+    }
+
+    @Override
+    public JsonWriter beginObject() throws IOException {
+        this.writeDeferredName();
+        this.generator.writeStartObject();
+        return this;
+    }
+
+    @Override
+    public JsonWriter endObject() throws IOException {
+        this.generator.writeEndObject();
+        return this;
+    }
+
+    @Override
+    public JsonWriter name(final String name) {
+        if (name == null) throw new NullPointerException("name == null");
+        if (this.deferredName != null) throw new IllegalStateException();
+        this.deferredName = name;
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(final String value) throws IOException {
+        if (value == null) return this.nullValue();
+        this.writeDeferredName();
+        this.generator.writeString(value);
+        return this;
+    }
+
+    /**
+     * Copies already encoded json, e.g. stored notification data, into the target format.
+     */
+    @Override
+    public JsonWriter jsonValue(final String value) throws IOException {
+        if (value == null) return this.nullValue();
+        this.writeDeferredName();
+        try (JsonParser parser = this.jsonFactory.createParser(value)) {
+            parser.nextToken();
+            this.generator.copyCurrentStructure(parser);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonWriter nullValue() throws IOException {
+        if (this.deferredName != null && !this.getSerializeNulls()) {
+            this.deferredName = null;
+            return this;
+        }
+        this.writeDeferredName();
+        this.generator.writeNull();
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(final boolean value) throws IOException {
+        this.writeDeferredName();
+        this.generator.writeBoolean(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(final Boolean value) throws IOException {
+        if (value == null) return this.nullValue();
+        return this.value(value.booleanValue());
+    }
+
+    @Override
+    public JsonWriter value(final double value) throws IOException {
+        if (!this.isLenient() && (Double.isNaN(value) || Double.isInfinite(value))) {
+            throw new IllegalArgumentException("Numeric values must be finite, but was " + value);
+        }
+        this.writeDeferredName();
+        this.generator.writeNumber(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(final long value) throws IOException {
+        this.writeDeferredName();
+        this.generator.writeNumber(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(final Number value) throws IOException {
+        if (value == null) return this.nullValue();
+        this.writeDeferredName();
+
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte
+                || value instanceof AtomicInteger || value instanceof AtomicLong) {
+            this.generator.writeNumber(value.longValue());
+        } else if (value instanceof BigInteger) {
+            this.generator.writeNumber((BigInteger) value);
+        } else if (value instanceof BigDecimal) {
+            this.generator.writeNumber((BigDecimal) value);
+        } else if (value instanceof Double || value instanceof Float) {
+            return this.value(value.doubleValue());
+        } else {
+            // e.g. the lazily parsed numbers of json trees, written as they were parsed
+            this.writeLiteral(value.toString());
+        }
+        return this;
+    }
+
+    /**
+     * Integers keep all their digits, numbers with a fraction or an exponent stay floating point even if they are integral.
+     */
+    private void writeLiteral(final String literal) throws IOException {
+        final boolean integral = literal.indexOf('.') == -1 && literal.indexOf('e') == -1 && literal.indexOf('E') == -1;
+        try {
+            if (!integral) {
+                this.generator.writeNumber(Double.parseDouble(literal));
+                return;
+            }
+
+            final BigInteger integer = new BigInteger(literal);
+            if (integer.bitLength() < Long.SIZE) this.generator.writeNumber(integer.longValue());
+            else this.generator.writeNumber(integer);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number " + literal, e);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.generator.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.generator.close();
+    }
+
+    private void writeDeferredName() throws IOException {
+        if (this.deferredName != null) {
+            this.generator.writeFieldName(this.deferredName);
+            this.deferredName = null;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package net.cryptic_game.backend.base.api.codec;
+
+import com.google.gson.stream.JsonWriter;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import net.cryptic_game.backend.base.json.JsonUtils;
+
+final class JsonApiCodec implements ApiCodec {
+
+    /**
+     * The escapes of Gson, so spliced strings are encoded like the rest of the frame.
+     */
+    private static final String[] REPLACEMENTS = new String[128];
+    private static final String[] HTML_SAFE_REPLACEMENTS;
+
+    static {
+        for (int i = 0; i < 0x20; i++) REPLACEMENTS[i] = String.format("\\u%04x", i);
+        REPLACEMENTS['"'] = "\\\"";
+        REPLACEMENTS['\\'] = "\\\\";
+        REPLACEMENTS['\t'] = "\\t";
+        REPLACEMENTS['\b'] = "\\b";
+        REPLACEMENTS['\n'] = "\\n";
+        REPLACEMENTS['\r'] = "\\r";
+        REPLACEMENTS['\f'] = "\\f";
+
+        HTML_SAFE_REPLACEMENTS = REPLACEMENTS.clone();
+        HTML_SAFE_REPLACEMENTS['<'] = "\\u003c";
+        HTML_SAFE_REPLACEMENTS['>'] = "\\u003e";
+        HTML_SAFE_REPLACEMENTS['&'] = "\\u0026";
+        HTML_SAFE_REPLACEMENTS['='] = "\\u003d";
+        HTML_SAFE_REPLACEMENTS['\''] = "\\u0027";
+    }
+
+    @Override
+    public String getSubprotocol() {
+        return "json";
+    }
+
+    @Override
+    public boolean isBinary() {
+        return false;
+    }
+
+    @Override
+    public JsonWriter newWriter(final ByteBuf out) {
+        return JsonUtils.getGSON().newJsonWriter(new ByteBufUtf8Writer(out));
+    }
+
+    @Override
+    public void writeString(final ByteBuf out, final String value) {
+        final String[] replacements = JsonUtils.getGSON().htmlSafe() ? HTML_SAFE_REPLACEMENTS : REPLACEMENTS;
+        out.writeByte('"');
+
+        int last = 0;
+        for (int i = 0; i < value.length(); i++) {
+            final char current = value.charAt(i);
+            final String replacement;
+            if (current < 128) {
+                replacement = replacements[current];
+                if (replacement == null) continue;
+            } else if (current == '\u2028') {
+                replacement = "\\u2028";
+            } else if (current == '\u2029') {
+                replacement = "\\u2029";
+            } else {
+                continue;
+            }
+
+            if (last < i) ByteBufUtil.writeUtf8(out, value, last, i);
+            ByteBufUtil.writeAscii(out, replacement);
+            last = i + 1;
+        }
+
+        if (last < value.length()) ByteBufUtil.writeUtf8(out, value, last, value.length());
+        out.writeByte('"');
+    }
+
+    @Override
+    public ByteBuf toJson(final ByteBufAllocator allocator, final ByteBuf frame) {
+        return frame;
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * This package contains the codecs, which encode the websocket api protocol.
+ */
+package net.cryptic_game.backend.base.api.codec;
@@ -1,16 +1,23 @@
 package net.cryptic_game.backend.base.api.data;
 
 import com.google.gson.JsonElement;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
+import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Setter;
+import lombok.ToString;
 import net.cryptic_game.backend.base.api.ApiAuthenticator;
+import net.cryptic_game.backend.base.api.cache.ApiResponseCache;
+import net.cryptic_game.backend.base.api.executor.ApiParameterBinder;
 import net.cryptic_game.backend.base.json.JsonBuilder;
 import net.cryptic_game.backend.base.json.JsonSerializable;
+import net.cryptic_game.backend.base.json.JsonTransient;
+import reactor.core.scheduler.Scheduler;
 
 import java.lang.reflect.Method;
 
 @Data
-@AllArgsConstructor
 public class ApiEndpointData implements JsonSerializable {
 
     private final String description;
@@ -22,12 +29,64 @@ public class ApiEndpointData implements JsonSerializable {
     private ApiParameterData[] parameters;
     private Object instance;
     private Method method;
+    private ApiEndpointInvoker invoker;
+    private ApiSchedulerType schedulerType;
+    private boolean synchronous;
+    private Scheduler scheduler;
+    private ApiResponseCache cache;
+    private boolean singleFlight;
+    private int maxInFlight;
+
+    /**
+     * Built from the {@link #parameters}, so the converters of the parameters are only resolved once.
+     */
+    @JsonTransient
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private ApiParameterBinder binder;
+
+    @Builder
+    public ApiEndpointData(final String description, final int authentication, final Class<?> clazz, final boolean disabled,
+                           final ApiAuthenticator authenticator, final String id, final ApiParameterData[] parameters,
+                           final Object instance, final Method method, final ApiEndpointInvoker invoker,
+                           final ApiSchedulerType schedulerType, final boolean synchronous, final Scheduler scheduler,
+                           final ApiResponseCache cache, final boolean singleFlight, final int maxInFlight) {
+        this.description = description;
+        this.authentication = authentication;
+        this.clazz = clazz;
+        this.disabled = disabled;
+        this.authenticator = authenticator;
+        this.id = id;
+        this.instance = instance;
+        this.method = method;
+        this.invoker = invoker;
+        this.schedulerType = schedulerType;
+        this.synchronous = synchronous;
+        this.scheduler = scheduler;
+        this.cache = cache;
+        this.singleFlight = singleFlight;
+        this.maxInFlight = maxInFlight;
+        this.setParameters(parameters);
+    }
+
+    public void setParameters(final ApiParameterData[] parameters) {
+        this.parameters = parameters;
+        this.binder = parameters == null ? null : new ApiParameterBinder(parameters);
+        if (this.binder != null && this.cache != null) this.cache.bind(this.binder);
+    }
+
+    public void setCache(final ApiResponseCache cache) {
+        this.cache = cache;
+        if (this.binder != null && cache != null) cache.bind(this.binder);
+    }
 
     @Override
     public final JsonElement serialize() {
         return JsonBuilder.create("id", this.id)
                 .add("description", this.description)
                 .add("disabled", this.disabled)
+                .add("single_flight", this.singleFlight)
                 .build();
     }
 }
@@ -0,0 +1,19 @@
+package net.cryptic_game.backend.base.api.data;
+
+/**
+ * A precompiled call site of an endpoint method, created once while parsing the endpoint.
+ *
+ * @see net.cryptic_game.backend.base.api.parser.ApiEndpointInvokerFactory
+ */
+@FunctionalInterface
+public interface ApiEndpointInvoker {
+
+    /**
+     * Invokes the endpoint method with the already parsed parameters.
+     *
+     * @param parameters the parameters in the order of the method signature
+     * @return the value returned by the endpoint method
+     * @throws Throwable everything thrown by the endpoint method, unwrapped
+     */
+    Object invoke(Object[] parameters) throws Throwable;
+}
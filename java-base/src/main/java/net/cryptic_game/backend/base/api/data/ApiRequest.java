@@ -1,21 +1,82 @@
 package net.cryptic_game.backend.base.api.data;
 
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import lombok.AccessLevel;
 import lombok.Data;
-import lombok.RequiredArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import net.cryptic_game.backend.base.json.JsonUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
 
 @Data
-@RequiredArgsConstructor
 public class ApiRequest {
 
     private final String endpoint;
-    private final JsonObject data;
+
+    /**
+     * The data as received, which is only parsed if a tree is needed.
+     */
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final byte[] rawData;
+
+    @Setter(AccessLevel.NONE)
+    private volatile JsonObject data;
+
     private String tag;
     private ApiEndpointData endpointData;
 
+    /**
+     * The fields of the response selected by the client, or {@code null} for all fields.
+     */
+    private Set<String> fields;
+
+    public ApiRequest(final String endpoint, final JsonObject data) {
+        this(endpoint, data, null);
+    }
+
     public ApiRequest(final String endpoint, final JsonObject data, final String tag) {
         this.endpoint = endpoint;
+        this.rawData = null;
         this.data = data;
         this.tag = tag;
     }
+
+    /**
+     * @param rawData the utf-8 encoded data object, it has to be valid json
+     */
+    public ApiRequest(final String endpoint, final byte[] rawData, final String tag) {
+        this.endpoint = endpoint;
+        this.rawData = rawData;
+        this.data = rawData == null ? JsonUtils.EMPTY_OBJECT : null;
+        this.tag = tag;
+    }
+
+    public JsonObject getData() {
+        if (this.data == null) {
+            final InputStreamReader reader = new InputStreamReader(new ByteArrayInputStream(this.rawData), StandardCharsets.UTF_8);
+            this.data = JsonUtils.fromJson(JsonParser.parseReader(reader), JsonObject.class);
+        }
+        return this.data;
+    }
+
+    /**
+     * @return if the data is still only available as raw bytes
+     */
+    public boolean isRaw() {
+        return this.data == null;
+    }
+
+    /**
+     * @return the utf-8 encoded data, without parsing it if it was received as raw bytes
+     */
+    public byte[] getRawData() {
+        return this.rawData == null ? this.data.toString().getBytes(StandardCharsets.UTF_8) : this.rawData;
+    }
 }
@@ -1,11 +1,17 @@
 package net.cryptic_game.backend.base.api.data;
 
 import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonWriter;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 import net.cryptic_game.backend.base.json.JsonUtils;
+import net.cryptic_game.backend.base.json.ProjectingJsonWriter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
 
 @Getter
 @EqualsAndHashCode
@@ -13,26 +19,112 @@ public final class ApiResponse {
 
     private final HttpResponseStatus status;
     private final String error;
-    private final JsonElement json;
+
+    /**
+     * The payload, which is only serialized when the response is written.
+     * A {@link Flux} payload is streamed item by item, see {@link #isStream()}.
+     */
+    private final Object data;
+
+    @EqualsAndHashCode.Exclude
+    private volatile JsonElement json;
 
     @Setter
     private String tag;
 
+    /**
+     * The fields of the payload selected by the client, or {@code null} for all fields.
+     */
+    @Setter
+    private Set<String> fields;
+
     public ApiResponse(final HttpResponseStatus status) {
         this.status = status;
         this.error = null;
-        this.json = null;
+        this.data = null;
     }
 
     public ApiResponse(final HttpResponseStatus status, final String error) {
         this.status = status;
         this.error = error;
-        this.json = null;
+        this.data = null;
     }
 
     public ApiResponse(final HttpResponseStatus status, final Object json) {
         this.status = status;
         this.error = null;
-        this.json = JsonUtils.toJson(json);
+        this.data = json;
+        if (json instanceof JsonElement) this.json = (JsonElement) json;
+    }
+
+    private ApiResponse(final HttpResponseStatus status, final String error, final Object data, final JsonElement json) {
+        this.status = status;
+        this.error = error;
+        this.data = data;
+        this.json = json;
+    }
+
+    /**
+     * Builds the json tree of the payload on the first call.
+     * Prefer {@link #writeJson(JsonWriter)}, which streams the payload without a tree.
+     *
+     * @return the payload as json tree, or {@code null} if there is no payload
+     */
+    public JsonElement getJson() {
+        if (this.json == null && this.data != null) this.json = JsonUtils.toJson(this.data);
+        return this.json;
+    }
+
+    /**
+     * @return if the payload is a {@link Flux}, whose items are written one by one instead of as one document
+     */
+    public boolean isStream() {
+        return this.data instanceof Flux;
+    }
+
+    /**
+     * @return the items of a streamed payload, or {@code null} if the payload is not streamed
+     */
+    public Flux<?> getStream() {
+        return this.isStream() ? (Flux<?>) this.data : null;
+    }
+
+    /**
+     * Writes the payload, reusing the json tree if it was already built.
+     * If {@link #getFields() fields} are selected, all other fields are dropped while writing.
+     */
+    public void writeJson(final JsonWriter writer) {
+        final JsonElement tree = this.json;
+        JsonUtils.write(tree == null ? this.data : tree, this.fields == null ? writer : new ProjectingJsonWriter(writer, this.fields));
+    }
+
+    /**
+     * Writes one item of a streamed payload, the selected {@link #getFields() fields} apply to every item.
+     */
+    public void writeItem(final JsonWriter writer, final Object item) {
+        JsonUtils.write(item, this.fields == null ? writer : new ProjectingJsonWriter(writer, this.fields));
+    }
+
+    /**
+     * Collects a streamed payload into a list, for places which need the response as one document (e.g. batches).
+     *
+     * @return this response if it is not streamed, otherwise a response with the collected items, the tag and the fields
+     */
+    public Mono<ApiResponse> collect() {
+        if (!this.isStream()) return Mono.just(this);
+
+        return this.getStream().collectList().map(items -> {
+            final ApiResponse response = new ApiResponse(this.status, items);
+            response.setTag(this.tag);
+            response.setFields(this.fields);
+            return response;
+        });
+    }
+
+    /**
+     * @return a copy without the tag and fields, the json is built once and shared, a streamed payload is subscribed again by every copy
+     */
+    public ApiResponse copy() {
+        return new ApiResponse(this.status, this.error, this.data, this.isStream() ? null : this.getJson());
     }
 }
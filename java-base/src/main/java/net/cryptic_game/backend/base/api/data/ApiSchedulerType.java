@@ -0,0 +1,24 @@
+package net.cryptic_game.backend.base.api.data;
+
+public enum ApiSchedulerType {
+
+    /**
+     * use the scheduler of the endpoint collection.
+     */
+    INHERIT,
+
+    /**
+     * run on the network event loop, only for non-blocking endpoints.
+     */
+    EVENT_LOOP,
+
+    /**
+     * run on the shared {@link reactor.core.scheduler.Schedulers#boundedElastic()} scheduler.
+     */
+    BOUNDED_ELASTIC,
+
+    /**
+     * run on a bounded pool owned by the endpoint collection.
+     */
+    DEDICATED
+}
@@ -2,26 +2,31 @@ package net.cryptic_game.backend.base.api.executor;
 
 import io.netty.handler.codec.http.HttpResponseStatus;
 import lombok.extern.slf4j.Slf4j;
+import net.cryptic_game.backend.base.api.cache.ApiResponseCache;
 import net.cryptic_game.backend.base.api.data.ApiEndpointData;
+import net.cryptic_game.backend.base.api.data.ApiParameterData;
+import net.cryptic_game.backend.base.api.data.ApiParameterType;
 import net.cryptic_game.backend.base.api.data.ApiRequest;
 import net.cryptic_game.backend.base.api.data.ApiResponse;
 import net.cryptic_game.backend.base.api.exception.ApiParameterException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
-import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 @Slf4j
 final class ApiEndpointExecutor {
 
+    private static final ApiSingleFlight<List<Object>> SINGLE_FLIGHT = new ApiSingleFlight<>();
+
     private ApiEndpointExecutor() {
         throw new UnsupportedOperationException();
     }
 
-    static Mono<ApiResponse> execute(final ApiRequest request, final ApiEndpointData endpoint) {
-        if (endpoint.isDisabled()) {
-            return Mono.just(new ApiResponse(HttpResponseStatus.SERVICE_UNAVAILABLE, "ENDPOINT_DISABLED"));
-        }
-
+    static Mono<ApiResponse> execute(final ApiRequest request, final ApiEndpointData endpoint, final ApiEndpointMetrics metrics) {
         if (!endpoint.getAuthenticator().isPermitted(request, endpoint.getAuthentication(), endpoint)) {
             return Mono.just(new ApiResponse(HttpResponseStatus.UNAUTHORIZED));
         }
@@ -29,9 +34,10 @@ final class ApiEndpointExecutor {
         request.setEndpointData(endpoint);
 
         final Object[] parameters;
-
+        final long bindingStart = System.nanoTime();
         try {
-            parameters = ApiParameterExecutor.parseParameters(request, endpoint.getParameters());
+            parameters = endpoint.getBinder().bind(request);
+            metrics.recordBinding(bindingStart);
         } catch (ApiParameterException e) {
             return Mono.just(new ApiResponse(HttpResponseStatus.BAD_REQUEST, e.getMessage()));
         } catch (Throwable e) {
@@ -39,35 +45,97 @@ final class ApiEndpointExecutor {
             return Mono.just(new ApiResponse(HttpResponseStatus.INTERNAL_SERVER_ERROR));
         }
 
+        // keyed by the bound values, invalidate converts its values the same way
+        final ApiResponseCache cache = endpoint.getCache();
+        final List<Object> cacheKey = cache == null ? null : cache.getKey(parameters);
+        if (cacheKey != null) {
+            final ApiResponse cached = cache.get(cacheKey);
+            if (cached != null) return Mono.just(cached);
+        }
+
+        if (!endpoint.isSingleFlight() || isRequestDependent(endpoint)) return executeCached(endpoint, parameters, metrics, cache, cacheKey);
+
+        // keyed by the bound values, so the key order, whitespace and unused fields of the request do not matter
+        final List<Object> key = List.of(request.getEndpoint(), Arrays.asList(parameters));
+        return SINGLE_FLIGHT.execute(key, () -> executeCached(endpoint, parameters, metrics, cache, cacheKey));
+    }
+
+    /**
+     * Endpoints with a {@link ApiParameterType#REQUEST} parameter (e.g. proxied daemon endpoints) depend on more than the request data.
+     */
+    private static boolean isRequestDependent(final ApiEndpointData endpoint) {
+        for (final ApiParameterData parameter : endpoint.getParameters()) {
+            if (parameter.getType() == ApiParameterType.REQUEST) return true;
+        }
+        return false;
+    }
+
+    private static Mono<ApiResponse> executeCached(final ApiEndpointData endpoint, final Object[] parameters, final ApiEndpointMetrics metrics,
+                                                   final ApiResponseCache cache, final List<Object> cacheKey) {
+        final Mono<ApiResponse> response = schedule(endpoint, parameters, metrics);
+        if (cacheKey == null) return response;
+
+        return response.doOnNext(resp -> {
+            if (resp.getStatus().equals(HttpResponseStatus.OK) && !resp.isStream()) cache.put(cacheKey, resp);
+        });
+    }
+
+    private static Mono<ApiResponse> schedule(final ApiEndpointData endpoint, final Object[] parameters, final ApiEndpointMetrics metrics) {
+        final Scheduler scheduler = endpoint.getScheduler();
+        if (scheduler == null) return invoke(endpoint, parameters, metrics);
+
+        return Mono.defer(() -> invoke(endpoint, parameters, metrics))
+                .subscribeOn(scheduler)
+                .onErrorResume(RejectedExecutionException.class, e -> {
+                    log.warn("Rejected request to endpoint {}: {}", getEndpointIdentifier(endpoint), e.getMessage());
+                    return Mono.just(new ApiResponse(HttpResponseStatus.SERVICE_UNAVAILABLE, "ENDPOINT_OVERLOADED"));
+                });
+    }
+
+    private static Mono<ApiResponse> invoke(final ApiEndpointData endpoint, final Object[] parameters, final ApiEndpointMetrics metrics) {
+        final Object response;
+        final long invocationStart = System.nanoTime();
         try {
-            final Object response = endpoint.getMethod().invoke(endpoint.getInstance(), parameters);
-
-            if (response == null) {
-                log.error("Endpoint {} returned null, which is not allowed.", getEndpointIdentifier(endpoint));
-                return Mono.just(new ApiResponse(HttpResponseStatus.INTERNAL_SERVER_ERROR));
-            }
-
-            if (response instanceof ApiResponse) {
-                return Mono.just((ApiResponse) response);
-            } else if (response instanceof Mono) {
-                return ((Mono<?>) response).cast(ApiResponse.class);
-            } else {
-                throw new IllegalStateException(String.format("Neither a %s nor a %s was returned by endpoint %s.",
-                        ApiResponse.class.getName(), Mono.class.getName(), getEndpointIdentifier(endpoint)));
-            }
-
-        } catch (IllegalArgumentException e) {
-            log.error("Endpoint {} does not have the correct parameters.", getEndpointIdentifier(endpoint), e);
-        } catch (InvocationTargetException e) {
-            log.error("An exception was thrown in endpoint {}.", getEndpointIdentifier(endpoint), e.getTargetException());
+            response = endpoint.getInvoker().invoke(parameters);
         } catch (Throwable e) {
-            log.error("Unable to execute endpoint {}.", getEndpointIdentifier(endpoint), e);
+            log.error("An exception was thrown in endpoint {}.", getEndpointIdentifier(endpoint), e);
+            metrics.recordError();
+            return Mono.just(new ApiResponse(HttpResponseStatus.INTERNAL_SERVER_ERROR));
+        } finally {
+            metrics.recordInvocation(invocationStart);
         }
 
+        if (response == null) {
+            log.error("Endpoint {} returned null, which is not allowed.", getEndpointIdentifier(endpoint));
+            return Mono.just(new ApiResponse(HttpResponseStatus.INTERNAL_SERVER_ERROR));
+        }
+
+        if (response instanceof ApiResponse) {
+            return Mono.just(scheduleStream(endpoint, (ApiResponse) response));
+        } else if (response instanceof Mono) {
+            return ((Mono<?>) response).cast(ApiResponse.class).map(resp -> scheduleStream(endpoint, resp));
+        } else if (response instanceof Flux) {
+            return Mono.just(scheduleStream(endpoint, new ApiResponse(HttpResponseStatus.OK, response)));
+        }
+
+        log.error("Neither a {}, a {} nor a {} was returned by endpoint {}.",
+                ApiResponse.class.getName(), Mono.class.getName(), Flux.class.getName(), getEndpointIdentifier(endpoint));
         return Mono.just(new ApiResponse(HttpResponseStatus.INTERNAL_SERVER_ERROR));
     }
 
+    /**
+     * The items of a stream are pulled while the response is written, which is on the event loop.
+     * They are pulled on the scheduler of the endpoint instead, because the source may block (e.g. a paged query).
+     */
+    private static ApiResponse scheduleStream(final ApiEndpointData endpoint, final ApiResponse response) {
+        final Scheduler scheduler = endpoint.getScheduler();
+        if (scheduler == null || !response.isStream()) return response;
+        return new ApiResponse(response.getStatus(), response.getStream().subscribeOn(scheduler));
+    }
+
     private static String getEndpointIdentifier(final ApiEndpointData endpoint) {
-        return endpoint.getClazz() == null ? endpoint.getId() : String.format("%s.%s", endpoint.getClazz().getName(), endpoint.getMethod().getName());
+        if (endpoint.getClazz() == null) return endpoint.getId();
+        return String.format("%s.%s", endpoint.getClazz().getName(),
+                endpoint.getMethod() == null ? endpoint.getId() : endpoint.getMethod().getName());
     }
 }
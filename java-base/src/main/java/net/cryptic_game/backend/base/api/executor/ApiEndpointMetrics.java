@@ -0,0 +1,116 @@
+package net.cryptic_game.backend.base.api.executor;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import lombok.Getter;
+import net.cryptic_game.backend.base.json.JsonBuilder;
+import net.cryptic_game.backend.base.json.JsonSerializable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Latency histograms and counters of one endpoint.
+ * The timers keep their percentiles in HdrHistograms, recording does not lock.
+ */
+public final class ApiEndpointMetrics implements JsonSerializable {
+
+    @Getter
+    private final String id;
+    private final MeterRegistry registry;
+    private final Tags tags;
+
+    private final Timer latency;
+    private final Timer binding;
+    private final Timer invocation;
+    private final Counter errors;
+    private final AtomicInteger inFlight;
+    private final Map<Integer, Counter> statuses;
+
+    ApiEndpointMetrics(final String id, final MeterRegistry registry) {
+        this.id = id;
+        this.registry = registry;
+        this.tags = Tags.of("endpoint", id);
+
+        this.latency = timer("api.request", this.tags, registry);
+        this.binding = timer("api.request.binding", this.tags, registry);
+        this.invocation = timer("api.request.invocation", this.tags, registry);
+        this.errors = registry.counter("api.request.errors", this.tags);
+        this.inFlight = registry.gauge("api.request.in_flight", this.tags, new AtomicInteger());
+        this.statuses = new ConcurrentHashMap<>();
+    }
+
+    private static Timer timer(final String name, final Tags tags, final MeterRegistry registry) {
+        return Timer.builder(name)
+                .tags(tags)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+    }
+
+    void started() {
+        this.inFlight.incrementAndGet();
+    }
+
+    void finished(final long start) {
+        this.inFlight.decrementAndGet();
+        this.latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    void recordBinding(final long start) {
+        this.binding.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    void recordInvocation(final long start) {
+        this.invocation.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    void recordStatus(final HttpResponseStatus status) {
+        Counter counter = this.statuses.get(status.code());
+        if (counter == null) {
+            counter = this.statuses.computeIfAbsent(status.code(),
+                    code -> this.registry.counter("api.request.status", this.tags.and("status", String.valueOf(code))));
+        }
+        counter.increment();
+    }
+
+    void recordError() {
+        this.errors.increment();
+    }
+
+    @Override
+    public JsonElement serialize() {
+        final JsonObject statusCounts = new JsonObject();
+        this.statuses.forEach((code, counter) -> statusCounts.addProperty(String.valueOf(code), (long) counter.count()));
+
+        return JsonBuilder.create("id", this.id)
+                .add("in_flight", this.inFlight.get())
+                .add("count", this.latency.count())
+                .add("errors", (long) this.errors.count())
+                .add("statuses", statusCounts)
+                .add("latency", serialize(this.latency))
+                .add("binding", serialize(this.binding))
+                .add("invocation", serialize(this.invocation))
+                .build();
+    }
+
+    private static JsonObject serialize(final Timer timer) {
+        final HistogramSnapshot snapshot = timer.takeSnapshot();
+        final JsonBuilder builder = JsonBuilder.create("mean", snapshot.mean(TimeUnit.MILLISECONDS))
+                .add("max", snapshot.max(TimeUnit.MILLISECONDS));
+
+        for (final ValueAtPercentile percentile : snapshot.percentileValues()) {
+            builder.add("p" + Math.round(percentile.percentile() * 100), percentile.value(TimeUnit.MILLISECONDS));
+        }
+
+        return builder.build();
+    }
+}
@@ -0,0 +1,92 @@
+package net.cryptic_game.backend.base.api.executor;
+
+import lombok.RequiredArgsConstructor;
+import net.cryptic_game.backend.base.api.data.ApiEndpointData;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Copy-on-write registry of the endpoints and the states they are overridden with at runtime.
+ * Lookups read the current immutable snapshot without locking, every change atomically swaps in a new snapshot.
+ */
+public final class ApiEndpoints {
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(new Snapshot(Map.of(), Map.of()));
+
+    public ApiEndpointData get(final String id) {
+        return this.snapshot.get().endpoints.get(id);
+    }
+
+    public Map<String, ApiEndpointData> getAll() {
+        return this.snapshot.get().endpoints;
+    }
+
+    public boolean isEmpty() {
+        return this.snapshot.get().endpoints.isEmpty();
+    }
+
+    /**
+     * Checks if an endpoint is disabled. A runtime override wins, otherwise the endpoint is disabled
+     * if its annotation, its collection or its daemon disabled it.
+     */
+    public boolean isDisabled(final String id) {
+        final Snapshot current = this.snapshot.get();
+        final Boolean override = current.overrides.get(id);
+        if (override != null) return override;
+
+        final ApiEndpointData endpoint = current.endpoints.get(id);
+        return endpoint != null && endpoint.isDisabled();
+    }
+
+    public void putAll(final Map<String, ApiEndpointData> endpoints) {
+        this.snapshot.updateAndGet(current -> {
+            final Map<String, ApiEndpointData> copy = new HashMap<>(current.endpoints);
+            copy.putAll(endpoints);
+            return new Snapshot(Map.copyOf(copy), current.overrides);
+        });
+    }
+
+    /**
+     * Replaces all runtime overrides.
+     *
+     * @param overrides if the endpoint with the id is disabled
+     */
+    public void setOverrides(final Map<String, Boolean> overrides) {
+        final Map<String, Boolean> copy = Map.copyOf(overrides);
+        this.snapshot.updateAndGet(current -> new Snapshot(current.endpoints, copy));
+    }
+
+    /**
+     * Overrides the state of an endpoint, so it is also enabled if it was disabled by its annotation, collection or daemon.
+     */
+    public void setDisabled(final String id, final boolean disabled) {
+        this.updateOverride(id, disabled);
+    }
+
+    /**
+     * Removes the runtime override of an endpoint, so its own state applies again.
+     */
+    public void resetDisabled(final String id) {
+        this.updateOverride(id, null);
+    }
+
+    private void updateOverride(final String id, final Boolean disabled) {
+        this.snapshot.updateAndGet(current -> {
+            if (Objects.equals(current.overrides.get(id), disabled)) return current;
+
+            final Map<String, Boolean> copy = new HashMap<>(current.overrides);
+            if (disabled == null) copy.remove(id);
+            else copy.put(id, disabled);
+            return new Snapshot(current.endpoints, Map.copyOf(copy));
+        });
+    }
+
+    @RequiredArgsConstructor
+    private static final class Snapshot {
+        private final Map<String, ApiEndpointData> endpoints;
+        private final Map<String, Boolean> overrides;
+    }
+}
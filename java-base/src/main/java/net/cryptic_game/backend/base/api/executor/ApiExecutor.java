@@ -7,7 +7,6 @@ import net.cryptic_game.backend.base.api.data.ApiResponse;
 import reactor.core.publisher.Mono;
 
 import java.util.Map;
-import java.util.Optional;
 
 public final class ApiExecutor {
 
@@ -16,8 +15,25 @@ public final class ApiExecutor {
     }
 
     public static Mono<ApiResponse> execute(final Map<String, ApiEndpointData> endpoints, final ApiRequest request) {
-        return Optional.ofNullable(endpoints.get(request.getEndpoint()))
-                .map(endpoint -> ApiEndpointExecutor.execute(request, endpoint))
-                .orElse(Mono.just(new ApiResponse(HttpResponseStatus.NOT_FOUND, "ENDPOINT")));
+        final ApiEndpointData endpoint = endpoints.get(request.getEndpoint());
+        return execute(endpoint, endpoint != null && endpoint.isDisabled(), request);
+    }
+
+    public static Mono<ApiResponse> execute(final ApiEndpoints endpoints, final ApiRequest request) {
+        return execute(endpoints.get(request.getEndpoint()), endpoints.isDisabled(request.getEndpoint()), request);
+    }
+
+    private static Mono<ApiResponse> execute(final ApiEndpointData endpoint, final boolean disabled, final ApiRequest request) {
+        if (endpoint == null) return Mono.just(new ApiResponse(HttpResponseStatus.NOT_FOUND, "ENDPOINT"));
+        if (disabled) return Mono.just(new ApiResponse(HttpResponseStatus.SERVICE_UNAVAILABLE, "ENDPOINT_DISABLED"));
+
+        final ApiEndpointMetrics metrics = ApiMetrics.get(request.getEndpoint());
+        final long start = System.nanoTime();
+        metrics.started();
+
+        return ApiEndpointExecutor.execute(request, endpoint, metrics)
+                .doOnNext(response -> metrics.recordStatus(response.getStatus()))
+                .doOnError(e -> metrics.recordError())
+                .doFinally(signal -> metrics.finished(start));
     }
 }
@@ -0,0 +1,35 @@
+package net.cryptic_game.backend.base.api.executor;
+
+import io.micrometer.core.instrument.Metrics;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per endpoint metrics of the {@link ApiExecutor}.
+ * The meters are registered in the global registry, which also feeds the actuator.
+ */
+public final class ApiMetrics {
+
+    private static final Map<String, ApiEndpointMetrics> ENDPOINTS = new ConcurrentHashMap<>();
+
+    private ApiMetrics() {
+        throw new UnsupportedOperationException();
+    }
+
+    public static Collection<ApiEndpointMetrics> getEndpoints() {
+        return Collections.unmodifiableCollection(ENDPOINTS.values());
+    }
+
+    public static ApiEndpointMetrics getEndpoint(final String id) {
+        return ENDPOINTS.get(id);
+    }
+
+    static ApiEndpointMetrics get(final String id) {
+        final ApiEndpointMetrics metrics = ENDPOINTS.get(id);
+        if (metrics != null) return metrics;
+        return ENDPOINTS.computeIfAbsent(id, key -> new ApiEndpointMetrics(key, Metrics.globalRegistry));
+    }
+}
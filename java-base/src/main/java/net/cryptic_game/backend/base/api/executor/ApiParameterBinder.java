@@ -0,0 +1,193 @@
+package net.cryptic_game.backend.base.api.executor;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
+import lombok.extern.slf4j.Slf4j;
+import net.cryptic_game.backend.base.api.data.ApiParameterData;
+import net.cryptic_game.backend.base.api.data.ApiParameterType;
+import net.cryptic_game.backend.base.api.data.ApiRequest;
+import net.cryptic_game.backend.base.api.exception.ApiParameterException;
+import net.cryptic_game.backend.base.json.JsonUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Binds the request data to the method parameters of one endpoint.
+ * The converters and error codes are resolved once when the binder is created.
+ * Data which is still raw is streamed, so only the values of the parameters are parsed.
+ */
+@Slf4j
+public final class ApiParameterBinder {
+
+    private static final Object[] EMPTY_PARAMETERS = new Object[0];
+
+    private final ApiParameterData[] parameters;
+    private final Converter[] converters;
+    private final String[] missingErrors;
+    private final String[] invalidErrors;
+    private final Map<String, Integer> indices;
+    private final Map<String, Integer> positions;
+    private final int size;
+
+    public ApiParameterBinder(final ApiParameterData[] parameters) {
+        this.parameters = parameters;
+        this.converters = new Converter[parameters.length];
+        this.missingErrors = new String[parameters.length];
+        this.invalidErrors = new String[parameters.length];
+
+        final Map<String, Integer> indices = new HashMap<>();
+        final Map<String, Integer> positions = new HashMap<>();
+        boolean streamable = true;
+        int size = 0;
+        for (int i = 0; i < parameters.length; i++) {
+            final ApiParameterData parameter = parameters[i];
+            this.converters[i] = getConverter(parameter.getClassType());
+            this.missingErrors[i] = String.format("PARAMETER_%s_MISSING", parameter.getId()).intern();
+            this.invalidErrors[i] = String.format("INVALID_PARAMETER_%s", parameter.getId()).intern();
+            if (parameter.getType() == ApiParameterType.NORMAL || parameter.getType() == ApiParameterType.USER) {
+                positions.put(parameter.getId(), size);
+            }
+            if (parameter.getType() != ApiParameterType.DAEMON_PARAMETER) size++;
+            if (parameter.getType() != ApiParameterType.REQUEST && indices.put(parameter.getId(), i) != null) streamable = false;
+        }
+        this.indices = streamable ? indices : null;
+        this.positions = positions;
+        this.size = size;
+    }
+
+    /**
+     * @return the position of the parameter in the bound values, or {@code -1} if there is no such parameter in the request data
+     */
+    public int getPosition(final String id) {
+        return this.positions.getOrDefault(id, -1);
+    }
+
+    /**
+     * Converts a value like the value of the parameter at the position is bound, e.g. a {@link String} to a {@link UUID}.
+     */
+    public Object convert(final int position, final Object value) {
+        if (value == null) return null;
+
+        int index = 0;
+        for (int i = 0; i < this.parameters.length; i++) {
+            if (this.parameters[i].getType() == ApiParameterType.DAEMON_PARAMETER) continue;
+            if (index++ == position) return this.converters[i].convert(JsonUtils.toJson(value), this.parameters[i].getClassType());
+        }
+        throw new IllegalArgumentException("There is no parameter at position " + position + ".");
+    }
+
+    public Object[] bind(final ApiRequest request) throws ApiParameterException {
+        if (this.parameters.length == 0) return EMPTY_PARAMETERS;
+
+        final JsonElement[] data = this.read(request);
+        final Object[] values = this.size == 0 ? EMPTY_PARAMETERS : new Object[this.size];
+
+        int index = 0;
+        for (int i = 0; i < this.parameters.length; i++) {
+            final ApiParameterData parameter = this.parameters[i];
+            switch (parameter.getType()) {
+                case USER:
+                case NORMAL:
+                    values[index++] = this.bindNormalParameter(request, data, i);
+                    break;
+                case REQUEST:
+                    values[index++] = request;
+                    break;
+                case DAEMON_PARAMETER:
+                    if (parameter.isRequired() && isMissing(data[i])) {
+                        throw new ApiParameterException(this.missingErrors[i]);
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException();
+            }
+        }
+        return values;
+    }
+
+    /**
+     * @return the json values by parameter index
+     */
+    private JsonElement[] read(final ApiRequest request) throws ApiParameterException {
+        final JsonElement[] values = new JsonElement[this.parameters.length];
+        if (this.indices != null && this.indices.isEmpty()) return values;
+
+        if (this.indices == null || !request.isRaw()) {
+            final JsonObject data = request.getData();
+            for (int i = 0; i < this.parameters.length; i++) values[i] = data.get(this.parameters[i].getId());
+            return values;
+        }
+
+        try (JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(request.getRawData()), StandardCharsets.UTF_8))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                final Integer index = this.indices.get(reader.nextName());
+                if (index == null) reader.skipValue();
+                else values[index] = JsonParser.parseReader(reader);
+            }
+            reader.endObject();
+        } catch (IOException | JsonParseException e) {
+            throw new ApiParameterException("JSON_SYNTAX");
+        }
+        return values;
+    }
+
+    private Object bindNormalParameter(final ApiRequest request, final JsonElement[] data, final int i) throws ApiParameterException {
+        final ApiParameterData parameter = this.parameters[i];
+        final JsonElement jsonValue = data[i];
+
+        if (isMissing(jsonValue)) {
+            if (parameter.isRequired()) throw new ApiParameterException(this.missingErrors[i]);
+            return null;
+        }
+
+        try {
+            return this.converters[i].convert(jsonValue, parameter.getClassType());
+        } catch (JsonParseException | IllegalArgumentException | UnsupportedOperationException e) {
+            if (log.isInfoEnabled()) {
+                log.info("Unable to parse parameter \"{}\" in endpoint \"{}\": {}", parameter.getId(), request.getEndpoint(), e.getMessage(), e);
+            }
+            throw new ApiParameterException(this.invalidErrors[i]);
+        }
+    }
+
+    private static boolean isMissing(final JsonElement jsonValue) {
+        return jsonValue == null || jsonValue.isJsonNull();
+    }
+
+    private static Converter getConverter(final Class<?> type) {
+        if (type.equals(String.class)) return (jsonValue, clazz) -> primitive(jsonValue).getAsString();
+        if (type.equals(UUID.class)) return (jsonValue, clazz) -> UUID.fromString(primitive(jsonValue).getAsString());
+        if (type.equals(int.class) || type.equals(Integer.class)) return (jsonValue, clazz) -> Integer.parseInt(primitive(jsonValue).getAsString());
+        if (type.equals(long.class) || type.equals(Long.class)) return (jsonValue, clazz) -> Long.parseLong(primitive(jsonValue).getAsString());
+        if (type.equals(boolean.class) || type.equals(Boolean.class)) return ApiParameterBinder::convertBoolean;
+        return JsonUtils::fromJson;
+    }
+
+    private static Object convertBoolean(final JsonElement jsonValue, final Class<?> type) {
+        final JsonPrimitive primitive = primitive(jsonValue);
+        if (primitive.isBoolean()) return primitive.getAsBoolean();
+        if (primitive.isString()) return Boolean.parseBoolean(primitive.getAsString());
+        throw new JsonParseException("Expected a boolean but was " + jsonValue);
+    }
+
+    private static JsonPrimitive primitive(final JsonElement jsonValue) {
+        if (!jsonValue.isJsonPrimitive()) throw new JsonParseException("Expected a primitive but was " + jsonValue);
+        return jsonValue.getAsJsonPrimitive();
+    }
+
+    @FunctionalInterface
+    private interface Converter {
+        Object convert(JsonElement jsonValue, Class<?> type);
+    }
+}
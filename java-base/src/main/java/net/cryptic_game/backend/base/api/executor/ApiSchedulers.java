@@ -0,0 +1,114 @@
+package net.cryptic_game.backend.base.api.executor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import net.cryptic_game.backend.base.api.ApiConfig;
+import net.cryptic_game.backend.base.api.data.ApiSchedulerType;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PreDestroy;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Provides the {@link Scheduler}s endpoints are executed on.
+ * Each collection with {@link ApiSchedulerType#DEDICATED} gets its own bounded pool, so a slow collection can not starve the others.
+ */
+@Slf4j
+@Service
+public class ApiSchedulers {
+
+    private final MeterRegistry registry;
+    private final Map<String, Scheduler> dedicated;
+    private final Scheduler virtual;
+
+    public ApiSchedulers(final ObjectProvider<MeterRegistry> registry, final ApiConfig config) {
+        this.registry = registry.getIfAvailable(() -> Metrics.globalRegistry);
+        this.dedicated = new ConcurrentHashMap<>();
+        this.virtual = config.isVirtualThreads() ? createVirtualScheduler() : null;
+    }
+
+    /**
+     * @return the scheduler, or {@code null} if the endpoint should run on the calling event loop
+     */
+    public Scheduler getScheduler(final ApiSchedulerType type, final String collectionId, final int threads, final int queue,
+                                  final boolean synchronous) {
+        if (synchronous && this.virtual != null) return this.virtual;
+
+        switch (type) {
+            case INHERIT:
+            case EVENT_LOOP:
+                return null;
+            case BOUNDED_ELASTIC:
+                return Schedulers.boundedElastic();
+            case DEDICATED:
+                return this.dedicated.computeIfAbsent(collectionId, id -> this.createScheduler(id, threads, queue));
+            default:
+                throw new IllegalArgumentException();
+        }
+    }
+
+    private Scheduler createScheduler(final String collectionId, final int threads, final int queue) {
+        final String name = "api-" + collectionId.replace('/', '-');
+        final Tags tags = Tags.of("collection", collectionId);
+        final Counter rejected = this.registry.counter("api.scheduler.rejected", tags);
+        final AtomicInteger threadCount = new AtomicInteger();
+
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queue),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> {
+                    rejected.increment();
+                    throw new RejectedExecutionException(String.format("Scheduler %s is full.", name));
+                });
+        executor.allowCoreThreadTimeOut(true);
+
+        new ExecutorServiceMetrics(executor, name, tags).bindTo(this.registry);
+        log.info("Created scheduler {} with {} threads and a queue of {} requests.", name, threads, queue);
+        return Schedulers.fromExecutorService(executor, name);
+    }
+
+    private static Scheduler createVirtualScheduler() {
+        final ExecutorService executor;
+        try {
+            executor = (ExecutorService) MethodHandles.publicLookup()
+                    .findStatic(Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class))
+                    .invoke();
+        } catch (NoSuchMethodException e) {
+            log.warn("Virtual threads are not supported by Java {}, running endpoints on their configured schedulers.",
+                    System.getProperty("java.version"));
+            return null;
+        } catch (Throwable e) {
+            log.error("Unable to create the virtual thread executor.", e);
+            return null;
+        }
+
+        log.info("Running synchronous endpoints on virtual threads.");
+        return Schedulers.fromExecutorService(executor, "api-virtual");
+    }
+
+    @PreDestroy
+    private void onDestroy() {
+        this.dedicated.values().forEach(Scheduler::dispose);
+        if (this.virtual != null) this.virtual.dispose();
+    }
+}
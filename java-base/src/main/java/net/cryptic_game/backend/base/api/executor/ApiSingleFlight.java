@@ -0,0 +1,30 @@
+package net.cryptic_game.backend.base.api.executor;
+
+import net.cryptic_game.backend.base.api.data.ApiResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent requests with the same key share one execution.
+ * Every subscriber receives its own copy of the response, so tags are not shared.
+ *
+ * @param <K> the key, has to implement {@link Object#equals(Object)} and {@link Object#hashCode()}
+ */
+public final class ApiSingleFlight<K> {
+
+    private final Map<K, Mono<ApiResponse>> flights;
+
+    public ApiSingleFlight() {
+        this.flights = new ConcurrentHashMap<>();
+    }
+
+    public Mono<ApiResponse> execute(final K key, final Supplier<Mono<ApiResponse>> supplier) {
+        return Mono.defer(() -> this.flights.computeIfAbsent(key, k -> Mono.defer(supplier)
+                .doFinally(signal -> this.flights.remove(k))
+                .cache()))
+                .map(ApiResponse::copy);
+    }
+}
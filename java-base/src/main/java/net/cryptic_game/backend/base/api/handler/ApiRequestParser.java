@@ -0,0 +1,281 @@
+package net.cryptic_game.backend.base.api.handler;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads request frames directly from a {@link ByteBuf}.
+ * Values are only located and checked, not parsed: the returned values are slices of the frame,
+ * which are valid as long as the frame is, so nested values like {@code data} can be kept as raw bytes.
+ * Values nested deeper than {@value MAX_DEPTH} levels are rejected, so a frame can not exhaust the stack.
+ */
+public final class ApiRequestParser {
+
+    private static final Charset CHARSET = StandardCharsets.UTF_8;
+    private static final int MAX_DEPTH = 64;
+
+    private ApiRequestParser() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * @return the first byte of the value ({@code '{'}, {@code '['}, ...) or {@code -1} if there is only whitespace
+     */
+    public static int peek(final ByteBuf buffer) {
+        final int index = skipWhitespace(buffer, buffer.readerIndex());
+        return index == buffer.writerIndex() ? -1 : buffer.getByte(index);
+    }
+
+    /**
+     * Checks that the buffer contains exactly one json value.
+     */
+    public static void validate(final ByteBuf buffer) throws JsonParseException {
+        final int end = skipValue(buffer, skipWhitespace(buffer, buffer.readerIndex()), 0);
+        if (skipWhitespace(buffer, end) != buffer.writerIndex()) throw syntax(buffer, end);
+    }
+
+    /**
+     * Splits an object into its fields. If a key is repeated, the last value wins.
+     */
+    public static Map<String, ByteBuf> readObject(final ByteBuf buffer) throws JsonParseException {
+        final Map<String, ByteBuf> fields = new HashMap<>();
+        int index = expect(buffer, skipWhitespace(buffer, buffer.readerIndex()), '{');
+
+        index = skipWhitespace(buffer, index);
+        if (peekByte(buffer, index) != '}') {
+            while (true) {
+                final int keyStart = index;
+                index = skipString(buffer, index);
+                final String key = readString(buffer.slice(keyStart, index - keyStart));
+
+                index = expect(buffer, skipWhitespace(buffer, index), ':');
+                final int valueStart = skipWhitespace(buffer, index);
+                index = skipValue(buffer, valueStart, 1);
+                fields.put(key, buffer.slice(valueStart, index - valueStart));
+
+                index = skipWhitespace(buffer, index);
+                if (peekByte(buffer, index) != ',') break;
+                index = skipWhitespace(buffer, index + 1);
+            }
+        }
+
+        index = expect(buffer, index, '}');
+        if (skipWhitespace(buffer, index) != buffer.writerIndex()) throw syntax(buffer, index);
+        return fields;
+    }
+
+    /**
+     * Splits an array into its elements.
+     */
+    public static List<ByteBuf> readArray(final ByteBuf buffer) throws JsonParseException {
+        final List<ByteBuf> elements = new ArrayList<>();
+        int index = expect(buffer, skipWhitespace(buffer, buffer.readerIndex()), '[');
+
+        index = skipWhitespace(buffer, index);
+        if (peekByte(buffer, index) != ']') {
+            while (true) {
+                final int valueStart = index;
+                index = skipValue(buffer, valueStart, 1);
+                elements.add(buffer.slice(valueStart, index - valueStart));
+
+                index = skipWhitespace(buffer, index);
+                if (peekByte(buffer, index) != ',') break;
+                index = skipWhitespace(buffer, index + 1);
+            }
+        }
+
+        index = expect(buffer, index, ']');
+        if (skipWhitespace(buffer, index) != buffer.writerIndex()) throw syntax(buffer, index);
+        return elements;
+    }
+
+    /**
+     * Reads a value as string, like Gson does for {@code fromJson(value, String.class)}.
+     *
+     * @return the string, or {@code null} if the value is missing or {@code null}
+     */
+    public static String readString(final ByteBuf value) throws JsonParseException {
+        if (value == null) return null;
+
+        final int length = value.readableBytes();
+        final byte first = value.getByte(value.readerIndex());
+        if (first == '"') {
+            if (value.indexOf(value.readerIndex(), value.writerIndex(), (byte) '\\') == -1) {
+                return value.toString(value.readerIndex() + 1, length - 2, CHARSET);
+            }
+            return JsonParser.parseString(value.toString(CHARSET)).getAsString();
+        }
+        if (first == '{' || first == '[') throw new JsonParseException("Expected a string but was " + value.toString(CHARSET));
+
+        final String literal = value.toString(CHARSET);
+        return literal.equals("null") ? null : literal;
+    }
+
+    /**
+     * Reads an array of strings.
+     *
+     * @return the strings, or {@code null} if the value is missing or {@code null}
+     */
+    public static List<String> readStrings(final ByteBuf value) throws JsonParseException {
+        if (value == null || peek(value) == 'n') return null;
+
+        final List<ByteBuf> elements = readArray(value);
+        final List<String> strings = new ArrayList<>(elements.size());
+        for (final ByteBuf element : elements) {
+            final String string = readString(element);
+            if (string == null) throw new JsonParseException("Expected a string but was null");
+            strings.add(string);
+        }
+        return strings;
+    }
+
+    /**
+     * @return a copy of the bytes of the value, which outlives the frame
+     */
+    public static byte[] readBytes(final ByteBuf value) {
+        return ByteBufUtil.getBytes(value);
+    }
+
+    private static int skipValue(final ByteBuf buffer, final int start, final int depth) {
+        switch (peekByte(buffer, start)) {
+            case '{':
+                return skipContainer(buffer, start, '}', true, depth + 1);
+            case '[':
+                return skipContainer(buffer, start, ']', false, depth + 1);
+            case '"':
+                return skipString(buffer, start);
+            case 't':
+                return skipLiteral(buffer, start, "true");
+            case 'f':
+                return skipLiteral(buffer, start, "false");
+            case 'n':
+                return skipLiteral(buffer, start, "null");
+            default:
+                return skipNumber(buffer, start);
+        }
+    }
+
+    private static int skipContainer(final ByteBuf buffer, final int start, final char end, final boolean object, final int depth) {
+        if (depth > MAX_DEPTH) throw syntax(buffer, start);
+
+        int index = skipWhitespace(buffer, start + 1);
+        if (peekByte(buffer, index) == end) return index + 1;
+
+        while (true) {
+            if (object) {
+                index = expect(buffer, skipWhitespace(buffer, skipString(buffer, index)), ':');
+                index = skipWhitespace(buffer, index);
+            }
+            index = skipWhitespace(buffer, skipValue(buffer, index, depth));
+
+            final int next = peekByte(buffer, index);
+            if (next == end) return index + 1;
+            if (next != ',') throw syntax(buffer, index);
+            index = skipWhitespace(buffer, index + 1);
+        }
+    }
+
+    private static int skipString(final ByteBuf buffer, final int start) {
+        if (peekByte(buffer, start) != '"') throw syntax(buffer, start);
+
+        for (int index = start + 1; index < buffer.writerIndex(); index++) {
+            final byte current = buffer.getByte(index);
+            if (current == '"') return index + 1;
+            if (current == '\\') index = skipEscape(buffer, index + 1);
+            else if (current >= 0 && current < 0x20) throw syntax(buffer, index);
+        }
+        throw syntax(buffer, buffer.writerIndex());
+    }
+
+    /**
+     * @return the index of the last byte of the escape sequence
+     */
+    private static int skipEscape(final ByteBuf buffer, final int start) {
+        switch (peekByte(buffer, start)) {
+            case '"':
+            case '\\':
+            case '/':
+            case 'b':
+            case 'f':
+            case 'n':
+            case 'r':
+            case 't':
+                return start;
+            case 'u':
+                for (int index = start + 1; index <= start + 4; index++) {
+                    if (Character.digit(peekByte(buffer, index), 16) == -1) throw syntax(buffer, index);
+                }
+                return start + 4;
+            default:
+                throw syntax(buffer, start);
+        }
+    }
+
+    private static int skipLiteral(final ByteBuf buffer, final int start, final String literal) {
+        for (int i = 0; i < literal.length(); i++) {
+            if (peekByte(buffer, start + i) != literal.charAt(i)) throw syntax(buffer, start + i);
+        }
+        return start + literal.length();
+    }
+
+    private static int skipNumber(final ByteBuf buffer, final int start) {
+        int index = start;
+        if (peekByte(buffer, index) == '-') index++;
+        // no leading zeros
+        if (peekByte(buffer, index) == '0' && isDigit(peekByte(buffer, index + 1))) throw syntax(buffer, index + 1);
+        index = skipDigits(buffer, index);
+        if (peekByte(buffer, index) == '.') index = skipDigits(buffer, index + 1);
+
+        final int exponent = peekByte(buffer, index);
+        if (exponent == 'e' || exponent == 'E') {
+            index++;
+            final int sign = peekByte(buffer, index);
+            if (sign == '+' || sign == '-') index++;
+            index = skipDigits(buffer, index);
+        }
+        return index;
+    }
+
+    private static int skipDigits(final ByteBuf buffer, final int start) {
+        int index = start;
+        while (isDigit(peekByte(buffer, index))) index++;
+        if (index == start) throw syntax(buffer, start);
+        return index;
+    }
+
+    private static boolean isDigit(final int current) {
+        return current >= '0' && current <= '9';
+    }
+
+    private static int skipWhitespace(final ByteBuf buffer, final int start) {
+        int index = start;
+        while (index < buffer.writerIndex()) {
+            final byte current = buffer.getByte(index);
+            if (current != ' ' && current != '\n' && current != '\r' && current != '\t') break;
+            index++;
+        }
+        return index;
+    }
+
+    private static int expect(final ByteBuf buffer, final int index, final char expected) {
+        if (peekByte(buffer, index) != expected) throw syntax(buffer, index);
+        return index + 1;
+    }
+
+    private static int peekByte(final ByteBuf buffer, final int index) {
+        return index < buffer.writerIndex() ? buffer.getByte(index) : -1;
+    }
+
+    private static JsonParseException syntax(final ByteBuf buffer, final int index) {
+        return new JsonParseException("Malformed json at offset " + (index - buffer.readerIndex()));
+    }
+}
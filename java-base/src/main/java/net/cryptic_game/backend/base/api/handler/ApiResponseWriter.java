@@ -0,0 +1,63 @@
+package net.cryptic_game.backend.base.api.handler;
+
+import com.google.gson.stream.JsonWriter;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import net.cryptic_game.backend.base.api.codec.ApiCodec;
+import net.cryptic_game.backend.base.api.codec.ApiCodecs;
+import net.cryptic_game.backend.base.api.data.ApiResponse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Streams responses straight into a pooled {@link ByteBuf}, without an intermediate json tree or {@link String}.
+ */
+public final class ApiResponseWriter {
+
+    private ApiResponseWriter() {
+        throw new UnsupportedOperationException();
+    }
+
+    public static ByteBuf write(final ByteBufAllocator allocator, final Body body) {
+        return write(allocator, ApiCodecs.JSON, body);
+    }
+
+    /**
+     * @param allocator the allocator of the channel the buffer is written to
+     * @param codec     the codec of the connection
+     * @param body      writes one document
+     * @return the encoded document, the caller owns the buffer
+     */
+    public static ByteBuf write(final ByteBufAllocator allocator, final ApiCodec codec, final Body body) {
+        final ByteBuf buffer = allocator.buffer();
+        try (JsonWriter writer = codec.newWriter(buffer)) {
+            body.write(writer);
+        } catch (IOException e) {
+            buffer.release();
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            buffer.release();
+            throw e;
+        }
+        return buffer;
+    }
+
+    /**
+     * Writes the body of a response without envelope, the data or an object with the error, like the rest api sends it.
+     */
+    public static void writeBody(final JsonWriter writer, final ApiResponse response) throws IOException {
+        if (response.getData() != null) {
+            response.writeJson(writer);
+        } else if (response.getError() != null) {
+            writer.beginObject().name("error").value(response.getError()).endObject();
+        } else {
+            writer.beginObject().endObject();
+        }
+    }
+
+    @FunctionalInterface
+    public interface Body {
+        void write(JsonWriter writer) throws IOException;
+    }
+}
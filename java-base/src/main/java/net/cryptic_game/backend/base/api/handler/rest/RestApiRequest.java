@@ -17,4 +17,9 @@ public class RestApiRequest extends ApiRequest {
         super(endpoint, data);
         this.context = context;
     }
+
+    public RestApiRequest(final String endpoint, final byte[] rawData, final RestApiContext context) {
+        super(endpoint, rawData, null);
+        this.context = context;
+    }
 }
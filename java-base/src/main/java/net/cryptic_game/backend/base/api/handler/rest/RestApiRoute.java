@@ -1,30 +1,35 @@
 package net.cryptic_game.backend.base.api.handler.rest;
 
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
-import com.google.gson.JsonParser;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.QueryStringDecoder;
 import io.netty.util.AsciiString;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.cryptic_game.backend.base.api.data.ApiEndpointData;
 import net.cryptic_game.backend.base.api.data.ApiResponse;
 import net.cryptic_game.backend.base.api.executor.ApiExecutor;
-import net.cryptic_game.backend.base.json.JsonBuilder;
-import net.cryptic_game.backend.base.json.JsonUtils;
+import net.cryptic_game.backend.base.api.handler.ApiRequestParser;
+import net.cryptic_game.backend.base.api.handler.ApiResponseWriter;
 import net.cryptic_game.backend.base.network.server.http.route.HttpRoute;
 import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.netty.http.server.HttpServerRequest;
 import reactor.netty.http.server.HttpServerResponse;
 
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -34,8 +39,11 @@ final class RestApiRoute implements HttpRoute {
 
     private static final Charset CHARSET = StandardCharsets.UTF_8;
     private static final AsciiString CONTENT_TYPE = AsciiString.of(HttpHeaderValues.APPLICATION_JSON + "; " + HttpHeaderValues.CHARSET + "=" + CHARSET);
-    private static final String EMPTY_REQUEST = "";
-    private static final String EMPTY_RESPONSE = "{}";
+    private static final AsciiString NDJSON = AsciiString.of("application/x-ndjson");
+    private static final AsciiString NDJSON_CONTENT_TYPE = AsciiString.of(NDJSON + "; " + HttpHeaderValues.CHARSET + "=" + CHARSET);
+    private static final byte[] ARRAY_START = {'['};
+    private static final byte[] ARRAY_SEPARATOR = {','};
+    private static final byte[] ARRAY_END = {']'};
     private final Map<String, ApiEndpointData> endpoints;
 
     @Override
@@ -58,46 +66,104 @@ final class RestApiRoute implements HttpRoute {
             httpResponse.header(HttpHeaderNames.ACCESS_CONTROL_ALLOW_ORIGIN, "*");
         }
 
-        return httpResponse.sendString(
-                httpRequest.receive()
-                        .aggregate()
-                        .asString(CHARSET)
-                        .defaultIfEmpty(EMPTY_REQUEST)
-                        .flatMap(content -> this.execute(httpRequest, content))
-                        .onErrorResume(this::handleError)
-                        .map(apiResponse -> this.parseResponse(httpResponse, apiResponse)),
-                CHARSET
-        );
+        final Set<String> fields = readFields(httpRequest);
+        return httpRequest.receive()
+                .aggregate()
+                .map(content -> this.execute(httpRequest, content, fields))
+                .defaultIfEmpty(Mono.defer(() -> this.execute(httpRequest, (byte[]) null, fields)))
+                .flatMap(Function.identity())
+                .onErrorResume(this::handleError)
+                .doOnNext(apiResponse -> apiResponse.setFields(fields))
+                .flatMap(apiResponse -> apiResponse.isStream()
+                        ? Mono.from(this.sendStream(httpRequest, httpResponse, apiResponse))
+                        : Mono.from(httpResponse.send(Mono.fromSupplier(() -> this.writeResponse(httpResponse, apiResponse)))));
     }
 
-    private Mono<ApiResponse> execute(final HttpServerRequest httpRequest, final String content) {
-        final JsonObject json;
+    /**
+     * Streams the items with chunked transfer encoding, as json array or as ndjson if the client accepts it.
+     * The status is sent before the first item, so an error while streaming aborts the response.
+     */
+    private Publisher<Void> sendStream(final HttpServerRequest httpRequest, final HttpServerResponse httpResponse, final ApiResponse apiResponse) {
+        final String accept = httpRequest.requestHeaders().get(HttpHeaderNames.ACCEPT);
+        final boolean ndjson = accept != null && AsciiString.contains(accept, NDJSON);
+        httpResponse.status(apiResponse.getStatus());
+        httpResponse.header(HttpHeaderNames.CONTENT_TYPE, ndjson ? NDJSON_CONTENT_TYPE : CONTENT_TYPE);
+
+        final Flux<ByteBuf> body;
+        if (ndjson) {
+            body = apiResponse.getStream().map(item -> this.writeItem(httpResponse, apiResponse, item).writeByte('\n'));
+        } else {
+            body = Flux.concat(
+                    Mono.fromSupplier(() -> Unpooled.wrappedBuffer(ARRAY_START)),
+                    apiResponse.getStream().index().map(item -> {
+                        final ByteBuf content = this.writeItem(httpResponse, apiResponse, item.getT2());
+                        return item.getT1() == 0 ? content : Unpooled.wrappedBuffer(Unpooled.wrappedBuffer(ARRAY_SEPARATOR), content);
+                    }),
+                    Mono.fromSupplier(() -> Unpooled.wrappedBuffer(ARRAY_END))
+            );
+        }
+
+        return httpResponse.send(body.doOnError(cause -> log.error("Error while streaming rest api response.", cause)));
+    }
+
+    private ByteBuf writeItem(final HttpServerResponse httpResponse, final ApiResponse apiResponse, final Object item) {
+        return ApiResponseWriter.write(httpResponse.alloc(), writer -> apiResponse.writeItem(writer, item));
+    }
+
+    /**
+     * Only checks the syntax of the body, it is parsed when the endpoint needs it.
+     */
+    private Mono<ApiResponse> execute(final HttpServerRequest httpRequest, final ByteBuf content, final Set<String> fields) {
+        final byte[] data;
         try {
-            json = content.isEmpty() && content.isBlank() ? JsonUtils.EMPTY_OBJECT : JsonUtils.fromJson(JsonParser.parseString(content), JsonObject.class);
+            final int type = ApiRequestParser.peek(content);
+            if (type == -1) {
+                data = null;
+            } else if (type == '{') {
+                ApiRequestParser.validate(content);
+                data = ApiRequestParser.readBytes(content);
+            } else {
+                return Mono.just(new ApiResponse(HttpResponseStatus.BAD_REQUEST, "JSON_SYNTAX"));
+            }
         } catch (JsonParseException e) {
             return Mono.just(new ApiResponse(HttpResponseStatus.BAD_REQUEST, "JSON_SYNTAX"));
         }
 
-        return ApiExecutor.execute(
-                this.endpoints,
-                new RestApiRequest(httpRequest.path(), json, new RestApiContext(httpRequest))
-        );
+        return this.execute(httpRequest, data, fields);
     }
 
-    private String parseResponse(final HttpServerResponse httpResponse, final ApiResponse apiResponse) {
-        httpResponse.status(apiResponse.getStatus());
-        httpResponse.header(HttpHeaderNames.CONTENT_TYPE, CONTENT_TYPE);
+    private Mono<ApiResponse> execute(final HttpServerRequest httpRequest, final byte[] data, final Set<String> fields) {
+        final RestApiRequest request = new RestApiRequest(httpRequest.path(), data, new RestApiContext(httpRequest));
+        request.setFields(fields);
+        return ApiExecutor.execute(this.endpoints, request);
+    }
 
-        final boolean hasData = apiResponse.getJson() != null;
-        final boolean hasMessage = apiResponse.getError() != null;
+    /**
+     * @return the fields selected with {@code ?fields=id,name}, or {@code null} for all fields
+     */
+    private static Set<String> readFields(final HttpServerRequest httpRequest) {
+        final List<String> values = new QueryStringDecoder(httpRequest.uri()).parameters().get("fields");
+        if (values == null) return null;
 
-        if (!hasData && !hasMessage) return EMPTY_RESPONSE;
+        return values.stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
 
-        final JsonElement jsonResponse = hasData
-                ? apiResponse.getJson()
-                : JsonBuilder.create("error", apiResponse.getError()).build();
+    private ByteBuf writeResponse(final HttpServerResponse httpResponse, final ApiResponse apiResponse) {
+        httpResponse.header(HttpHeaderNames.CONTENT_TYPE, CONTENT_TYPE);
 
-        return jsonResponse.toString();
+        try {
+            final ByteBuf content = ApiResponseWriter.write(httpResponse.alloc(), writer -> ApiResponseWriter.writeBody(writer, apiResponse));
+            httpResponse.status(apiResponse.getStatus());
+            return content;
+        } catch (RuntimeException e) {
+            log.error("Error while writing rest api response.", e);
+            httpResponse.status(HttpResponseStatus.INTERNAL_SERVER_ERROR);
+            return ApiResponseWriter.write(httpResponse.alloc(), writer -> writer.beginObject().endObject());
+        }
     }
 
     private Mono<ApiResponse> handleError(final Throwable cause) {
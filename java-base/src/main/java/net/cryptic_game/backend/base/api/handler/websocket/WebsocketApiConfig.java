@@ -11,4 +11,62 @@ final class WebsocketApiConfig {
 
     @Value("${WEBSOCKET_API_PATH:ws}")
     private String path;
+
+    /**
+     * Maximal number of requests in one batch frame.
+     */
+    @Value("${WEBSOCKET_API_BATCH_LIMIT:32}")
+    private int batchLimit;
+
+    /**
+     * Maximal number of requests in flight per connection, further requests are rejected. {@code 0} for no limit.
+     * Endpoints can set a lower limit for themselves.
+     */
+    @Value("${WEBSOCKET_API_MAX_IN_FLIGHT:64}")
+    private int maxInFlight;
+
+    /**
+     * Sends the responses of a connection in the order of the requests, instead of as soon as they are done.
+     */
+    @Value("${WEBSOCKET_API_ORDERED:false}")
+    private boolean ordered;
+
+    /**
+     * Negotiates permessage-deflate with clients which support it.
+     */
+    @Value("${WEBSOCKET_API_COMPRESSION:true}")
+    private boolean compression;
+
+    /**
+     * Minimal size of a frame in bytes to be compressed, smaller frames are not worth the cpu time.
+     */
+    @Value("${WEBSOCKET_API_COMPRESSION_THRESHOLD:1024}")
+    private int compressionThreshold;
+
+    @Value("${WEBSOCKET_API_COMPRESSION_LEVEL:6}")
+    private int compressionLevel;
+
+    /**
+     * Keeps the compression context between messages of a connection, which compresses better but needs more memory per connection.
+     */
+    @Value("${WEBSOCKET_API_COMPRESSION_CONTEXT_TAKEOVER:true}")
+    private boolean compressionContextTakeover;
+
+    /**
+     * Size of the compression window ({@code 8} - {@code 15}), which bounds the memory of the compressor per connection.
+     */
+    @Value("${WEBSOCKET_API_COMPRESSION_WINDOW_BITS:15}")
+    private int compressionWindowBits;
+
+    /**
+     * Maximal number of pushed frames (e.g. notifications) queued for a connection which does not keep up.
+     */
+    @Value("${WEBSOCKET_API_OUTBOUND_HIGH_WATER_MARK:256}")
+    private int outboundHighWaterMark;
+
+    /**
+     * What happens if the queue of a connection is full: {@code DROP_OLDEST}, {@code COALESCE} or {@code DISCONNECT}.
+     */
+    @Value("${WEBSOCKET_API_OUTBOUND_OVERFLOW_POLICY:DROP_OLDEST}")
+    private WebsocketApiOutbound.OverflowPolicy outboundOverflowPolicy;
 }
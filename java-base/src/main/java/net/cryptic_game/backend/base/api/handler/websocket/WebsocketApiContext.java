@@ -1,7 +1,14 @@
 package net.cryptic_game.backend.base.api.handler.websocket;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
 import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.Setter;
+import net.cryptic_game.backend.base.api.codec.ApiCodec;
+import net.cryptic_game.backend.base.api.codec.ApiCodecs;
 import reactor.netty.http.websocket.WebsocketInbound;
 import reactor.netty.http.websocket.WebsocketOutbound;
 
@@ -9,6 +16,9 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class WebsocketApiContext {
 
@@ -18,11 +28,81 @@ public class WebsocketApiContext {
     private final WebsocketInbound inbound;
     @Getter
     private final WebsocketOutbound outbound;
+    @Getter
+    private final ApiCodec codec;
+
+    /**
+     * The id of the user the connection is logged in as, maintained by {@link WebsocketApiContexts}.
+     */
+    @Getter
+    @Setter(AccessLevel.PACKAGE)
+    private volatile UUID userId;
+
+    @Getter(AccessLevel.PACKAGE)
+    private final WebsocketApiOutbound writer;
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicInteger inFlight;
+    @Getter(AccessLevel.NONE)
+    private final Map<String, AtomicInteger> endpointsInFlight;
 
     public WebsocketApiContext(final WebsocketInbound inbound, final WebsocketOutbound outbound) {
+        this(inbound, outbound, ApiCodecs.JSON, new WebsocketApiOutbound(outbound, WebsocketApiOutbound.DEFAULT_HIGH_WATER_MARK,
+                WebsocketApiOutbound.OverflowPolicy.DROP_OLDEST));
+    }
+
+    public WebsocketApiContext(final WebsocketInbound inbound, final WebsocketOutbound outbound, final ApiCodec codec,
+                               final WebsocketApiOutbound writer) {
         this.values = new HashMap<>();
         this.inbound = inbound;
         this.outbound = outbound;
+        this.codec = codec;
+        this.writer = writer;
+        this.inFlight = new AtomicInteger();
+        this.endpointsInFlight = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Wraps a message encoded with the {@link #codec} of this connection into a frame.
+     */
+    public WebSocketFrame frame(final ByteBuf content) {
+        return this.codec.isBinary() ? new BinaryWebSocketFrame(content) : new TextWebSocketFrame(content);
+    }
+
+    /**
+     * Queues a message encoded with the {@link #codec} of this connection, it is sent by the single writer of the connection
+     * and may be dropped if the client does not keep up.
+     *
+     * @param key messages with the same key may replace each other, may be {@code null}
+     */
+    public void push(final ByteBuf content, final String key) {
+        this.writer.push(this.frame(content), key);
+    }
+
+    /**
+     * Counts a request as in flight, unless the connection or the endpoint already reached its limit.
+     *
+     * @param limit         the limit of the connection, {@code 0} for no limit
+     * @param endpointLimit the limit of the endpoint, {@code 0} for no limit
+     * @return if the request may be executed, then it has to be {@link #release(String, int) released} afterwards
+     */
+    boolean tryAcquire(final String endpoint, final int limit, final int endpointLimit) {
+        if (this.inFlight.incrementAndGet() > limit && limit > 0) {
+            this.inFlight.decrementAndGet();
+            return false;
+        }
+
+        if (endpointLimit > 0 && this.endpointsInFlight.computeIfAbsent(endpoint, key -> new AtomicInteger()).incrementAndGet() > endpointLimit) {
+            this.endpointsInFlight.get(endpoint).decrementAndGet();
+            this.inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    void release(final String endpoint, final int endpointLimit) {
+        if (endpointLimit > 0) this.endpointsInFlight.get(endpoint).decrementAndGet();
+        this.inFlight.decrementAndGet();
     }
 
     public <T> Optional<T> get(final Class<T> clazz) {
@@ -0,0 +1,76 @@
+package net.cryptic_game.backend.base.api.handler.websocket;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The open websocket api connections, indexed by the id of the user they are logged in as,
+ * so targeted pushes (e.g. notifications) do not have to look at every connection.
+ */
+@Component
+public class WebsocketApiContexts {
+
+    private final Set<WebsocketApiContext> contexts;
+    private final Map<UUID, Set<WebsocketApiContext>> users;
+
+    public WebsocketApiContexts() {
+        this.contexts = ConcurrentHashMap.newKeySet();
+        this.users = new ConcurrentHashMap<>();
+    }
+
+    void add(final WebsocketApiContext context) {
+        this.contexts.add(context);
+    }
+
+    void remove(final WebsocketApiContext context) {
+        this.contexts.remove(context);
+        final UUID userId = context.getUserId();
+        if (userId != null) this.unindex(userId, context);
+    }
+
+    /**
+     * Marks the connection as logged in as the user.
+     */
+    public void setUser(final WebsocketApiContext context, final UUID userId) {
+        final UUID previous = context.getUserId();
+        if (previous != null) this.unindex(previous, context);
+
+        context.setUserId(userId);
+        this.users.compute(userId, (id, userContexts) -> {
+            final Set<WebsocketApiContext> result = userContexts == null ? ConcurrentHashMap.newKeySet() : userContexts;
+            result.add(context);
+            return result;
+        });
+
+        // the connection may have been closed in between, then it was not yet indexed when it was removed
+        if (!this.contexts.contains(context)) this.unindex(userId, context);
+    }
+
+    /**
+     * @return the open connections of the user, empty if the user is not connected to this node
+     */
+    public Set<WebsocketApiContext> getByUser(final UUID userId) {
+        final Set<WebsocketApiContext> userContexts = this.users.get(userId);
+        return userContexts == null ? Collections.emptySet() : Collections.unmodifiableSet(userContexts);
+    }
+
+    public Set<WebsocketApiContext> getAll() {
+        return Collections.unmodifiableSet(this.contexts);
+    }
+
+    public int size() {
+        return this.contexts.size();
+    }
+
+    private void unindex(final UUID userId, final WebsocketApiContext context) {
+        this.users.computeIfPresent(userId, (id, userContexts) -> {
+            userContexts.remove(context);
+            return userContexts.isEmpty() ? null : userContexts;
+        });
+    }
+}
@@ -0,0 +1,175 @@
+package net.cryptic_game.backend.base.api.handler.websocket;
+
+import com.google.gson.stream.JsonWriter;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import lombok.RequiredArgsConstructor;
+import net.cryptic_game.backend.base.api.codec.ApiCodec;
+import net.cryptic_game.backend.base.api.data.ApiResponse;
+import net.cryptic_game.backend.base.api.handler.ApiResponseWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pre-encoded fragments of the response envelope per codec, status and present fields.
+ * The first fragment is the status prefix, the tag, the error and the payload are spliced in between the fragments.
+ * Responses with neither a tag nor a payload (e.g. rejected frames) are constant and shared as a whole,
+ * for every status and error they are encoded once.
+ */
+final class WebsocketApiFrames {
+
+    private static final String PLACEHOLDER = "\u0000placeholder\u0000";
+    private static final int MAX_TEMPLATES = 1024;
+    private static final Map<List<Object>, Template> TEMPLATES = new ConcurrentHashMap<>();
+    private static final Map<List<Object>, ByteBuf> ERROR_FRAMES = new ConcurrentHashMap<>();
+
+    private WebsocketApiFrames() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Writes a response like {@link WebsocketApiRoute#writeResponse(JsonWriter, ApiResponse)}.
+     *
+     * @return the encoded frame, the caller owns the buffer
+     */
+    static ByteBuf write(final ByteBufAllocator allocator, final ApiCodec codec, final ApiResponse response) {
+        final boolean tag = response.getTag() != null;
+        final boolean error = response.getError() != null;
+        final boolean data = response.getData() != null;
+        if (!tag && error && !data) return getErrorFrame(codec, response.getStatus(), response.getError()).duplicate();
+
+        final Template template = getTemplate(codec, response.getStatus(), tag, error, data);
+        if (template.frame != null) return template.frame.duplicate();
+
+        final ByteBuf buffer = allocator.buffer();
+        try {
+            int fragment = 0;
+            buffer.writeBytes(template.fragments[fragment++]);
+            if (tag) {
+                codec.writeString(buffer, response.getTag());
+                buffer.writeBytes(template.fragments[fragment++]);
+            }
+            if (error) {
+                codec.writeString(buffer, response.getError());
+                buffer.writeBytes(template.fragments[fragment++]);
+            }
+            if (data) {
+                try (JsonWriter writer = codec.newWriter(buffer)) {
+                    response.writeJson(writer);
+                }
+                buffer.writeBytes(template.fragments[fragment]);
+            }
+        } catch (IOException e) {
+            buffer.release();
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            buffer.release();
+            throw e;
+        }
+        return buffer;
+    }
+
+    private static Template getTemplate(final ApiCodec codec, final HttpResponseStatus status,
+                                        final boolean tag, final boolean error, final boolean data) {
+        final List<Object> key = List.of(codec.getSubprotocol(), status.code(), status.reasonPhrase(), tag, error, data);
+        final Template template = TEMPLATES.get(key);
+        if (template != null) return template;
+
+        // statuses are not limited to the predefined ones, so only a bounded number of templates is kept
+        if (TEMPLATES.size() >= MAX_TEMPLATES) return createTemplate(codec, status, tag, error, data, false);
+        return TEMPLATES.computeIfAbsent(key, k -> createTemplate(codec, status, tag, error, data, true));
+    }
+
+    private static ByteBuf getErrorFrame(final ApiCodec codec, final HttpResponseStatus status, final String error) {
+        final List<Object> key = List.of(codec.getSubprotocol(), status.code(), status.reasonPhrase(), error);
+        final ByteBuf frame = ERROR_FRAMES.get(key);
+        if (frame != null) return frame;
+
+        // errors are not limited to the predefined ones either
+        if (ERROR_FRAMES.size() >= MAX_TEMPLATES) return createFrame(codec, new ApiResponse(status, error), false);
+        return ERROR_FRAMES.computeIfAbsent(key, k -> createFrame(codec, new ApiResponse(status, error), true));
+    }
+
+    /**
+     * Encodes a response with placeholders and splits it at them.
+     */
+    private static Template createTemplate(final ApiCodec codec, final HttpResponseStatus status,
+                                           final boolean tag, final boolean error, final boolean data, final boolean cached) {
+        final ApiResponse response;
+        if (error) response = new ApiResponse(status, PLACEHOLDER);
+        else if (data) response = new ApiResponse(status, (Object) PLACEHOLDER);
+        else response = new ApiResponse(status);
+        if (tag) response.setTag(PLACEHOLDER);
+
+        final byte[] frame = encode(codec, writer -> WebsocketApiRoute.writeResponse(writer, response));
+        final byte[] placeholder = encode(codec, writer -> writer.value(PLACEHOLDER));
+
+        final List<byte[]> fragments = new ArrayList<>(4);
+        int start = 0;
+        for (int index = indexOf(frame, placeholder, start); index != -1; index = indexOf(frame, placeholder, start)) {
+            fragments.add(Arrays.copyOfRange(frame, start, index));
+            start = index + placeholder.length;
+        }
+        fragments.add(Arrays.copyOfRange(frame, start, frame.length));
+
+        if (fragments.size() != 1 + (tag ? 1 : 0) + (error ? 1 : 0) + (data ? 1 : 0)) {
+            throw new IllegalStateException("Unable to split the response envelope of codec " + codec.getSubprotocol() + ".");
+        }
+
+        return new Template(fragments.toArray(new byte[0][]), fragments.size() == 1 ? share(frame, cached) : null);
+    }
+
+    private static ByteBuf createFrame(final ApiCodec codec, final ApiResponse response, final boolean cached) {
+        return share(encode(codec, writer -> WebsocketApiRoute.writeResponse(writer, response)), cached);
+    }
+
+    /**
+     * @param cached if the frame is kept, uncached frames stay on the heap so they are freed with their last duplicate
+     * @return a buffer which is shared by all connections, so it has to be {@link ByteBuf#duplicate() duplicated} for every write
+     */
+    private static ByteBuf share(final byte[] frame, final boolean cached) {
+        final ByteBuf buffer = cached ? Unpooled.directBuffer(frame.length).writeBytes(frame) : Unpooled.wrappedBuffer(frame);
+        return Unpooled.unreleasableBuffer(buffer.asReadOnly());
+    }
+
+    private static byte[] encode(final ApiCodec codec, final ApiResponseWriter.Body body) {
+        final ByteBuf buffer = ApiResponseWriter.write(UnpooledByteBufAllocator.DEFAULT, codec, body);
+        try {
+            return ByteBufUtil.getBytes(buffer);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    private static int indexOf(final byte[] array, final byte[] target, final int start) {
+        outer:
+        for (int i = start; i <= array.length - target.length; i++) {
+            for (int j = 0; j < target.length; j++) {
+                if (array[i + j] != target[j]) continue outer;
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    @RequiredArgsConstructor
+    private static final class Template {
+
+        private final byte[][] fragments;
+
+        /**
+         * The whole frame if it is constant, which is shared through {@link ByteBuf#duplicate() duplicates}.
+         */
+        private final ByteBuf frame;
+    }
+}
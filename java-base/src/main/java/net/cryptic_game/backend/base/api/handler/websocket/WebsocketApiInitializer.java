@@ -3,46 +3,55 @@ package net.cryptic_game.backend.base.api.handler.websocket;
 import lombok.Getter;
 import net.cryptic_game.backend.base.api.ApiConfiguration;
 import net.cryptic_game.backend.base.api.data.ApiEndpointCollectionData;
-import net.cryptic_game.backend.base.api.data.ApiEndpointData;
 import net.cryptic_game.backend.base.api.data.ApiType;
+import net.cryptic_game.backend.base.api.executor.ApiEndpoints;
 import net.cryptic_game.backend.base.api.parser.ApiEndpointCollectionParser;
 import net.cryptic_game.backend.base.network.server.http.HttpServerService;
+import net.cryptic_game.backend.base.network.server.http.route.WebsocketCompression;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
-import java.util.Collections;
-import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 @Order(Ordered.HIGHEST_PRECEDENCE)
 public class WebsocketApiInitializer implements CommandLineRunner {
 
     @Getter
-    private final Set<WebsocketApiContext> contexts;
+    private final WebsocketApiContexts contexts;
     private final HttpServerService serverService;
     private final Set<ApiEndpointCollectionData> collections;
+    private final WebsocketApiConfig config;
 
     @Getter
-    private Map<String, ApiEndpointData> endpoints;
+    private final ApiEndpoints endpoints;
 
-    public WebsocketApiInitializer(final HttpServerService serverService, @Lazy final Set<ApiEndpointCollectionData> collections) {
+    public WebsocketApiInitializer(final HttpServerService serverService, @Lazy final Set<ApiEndpointCollectionData> collections,
+                                   final WebsocketApiConfig config, final WebsocketApiContexts contexts) {
         this.serverService = serverService;
         this.collections = collections;
-        this.contexts = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        this.config = config;
+        this.contexts = contexts;
+        this.endpoints = new ApiEndpoints();
     }
 
     @Override
     public void run(final String[] args) {
-        this.endpoints = ApiEndpointCollectionParser.getEndpoints(ApiConfiguration.filter(this.collections, ApiType.WEBSOCKET));
-        if (endpoints.isEmpty()) {
+        this.endpoints.putAll(ApiEndpointCollectionParser.getEndpoints(ApiConfiguration.filter(this.collections, ApiType.WEBSOCKET)));
+        if (this.endpoints.isEmpty()) {
             return;
         }
 
-        this.serverService.getRoutes().addRoute("ws", new WebsocketApiRoute(this.endpoints, this.contexts));
+        final WebsocketCompression compression = this.config.isCompression()
+                ? new WebsocketCompression(this.config.getCompressionThreshold(), this.config.getCompressionLevel(),
+                        this.config.isCompressionContextTakeover(), this.config.getCompressionWindowBits())
+                : null;
+
+        this.serverService.getRoutes().addRoute("ws", new WebsocketApiRoute(this.endpoints, this.contexts, this.config.getBatchLimit(),
+                this.config.getMaxInFlight(), this.config.isOrdered(), this.config.getOutboundHighWaterMark(),
+                this.config.getOutboundOverflowPolicy(), compression));
     }
 }
@@ -0,0 +1,183 @@
+package net.cryptic_game.backend.base.api.handler.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.netty.handler.codec.http.websocketx.WebSocketCloseStatus;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
+import io.netty.util.ReferenceCountUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.websocket.WebsocketOutbound;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The single writer of a websocket api connection.
+ * Responses are pulled from the request pipeline, so a slow client stops the connection from being read.
+ * Pushed frames (e.g. notifications) are queued up to the high-water mark, beyond it the {@link OverflowPolicy} applies.
+ */
+@Slf4j
+public final class WebsocketApiOutbound {
+
+    public static final int DEFAULT_HIGH_WATER_MARK = 256;
+
+    private static final Counter DROPPED = Metrics.counter("websocket.api.outbound.dropped");
+    private static final Counter DISCONNECTED = Metrics.counter("websocket.api.outbound.disconnected");
+
+    private final WebsocketOutbound outbound;
+    private final int highWaterMark;
+    private final OverflowPolicy policy;
+    private final AtomicInteger wip;
+
+    /**
+     * Guarded by {@code this}.
+     */
+    private final Deque<Push> queue;
+    private FluxSink<WebSocketFrame> sink;
+    private boolean closed;
+
+    public WebsocketApiOutbound(final WebsocketOutbound outbound, final int highWaterMark, final OverflowPolicy policy) {
+        this.outbound = outbound;
+        this.highWaterMark = highWaterMark;
+        this.policy = policy;
+        this.wip = new AtomicInteger();
+        this.queue = new ArrayDeque<>();
+    }
+
+    /**
+     * @param responses the response frames of the connection, the queue is closed when they complete
+     * @return all frames of the connection, which are sent by one subscriber
+     */
+    Flux<WebSocketFrame> merge(final Flux<WebSocketFrame> responses) {
+        final Flux<WebSocketFrame> pushed = Flux.create(sink -> {
+            final boolean alreadyClosed;
+            synchronized (this) {
+                this.sink = sink;
+                alreadyClosed = this.closed;
+            }
+            if (alreadyClosed) {
+                sink.complete();
+                return;
+            }
+            sink.onRequest(n -> this.drain());
+            sink.onDispose(this::close);
+        });
+        return Flux.merge(responses.doFinally(signal -> this.close()), pushed);
+    }
+
+    /**
+     * Queues a frame, which is sent after the responses and frames queued before.
+     *
+     * @param frame the frame, which is released if it is dropped
+     * @param key   frames with the same key replace each other if the policy is {@link OverflowPolicy#COALESCE}, may be {@code null}
+     */
+    public void push(final WebSocketFrame frame, final String key) {
+        boolean disconnect = false;
+        synchronized (this) {
+            if (this.closed) {
+                ReferenceCountUtil.release(frame);
+                return;
+            }
+
+            if (this.policy == OverflowPolicy.COALESCE && key != null) this.removeKey(key);
+            if (this.queue.size() >= this.highWaterMark) {
+                if (this.policy == OverflowPolicy.DISCONNECT) {
+                    disconnect = true;
+                } else {
+                    ReferenceCountUtil.release(this.queue.poll().frame);
+                    DROPPED.increment();
+                }
+            }
+
+            if (disconnect) ReferenceCountUtil.release(frame);
+            else this.queue.add(new Push(frame, key));
+        }
+
+        if (disconnect) {
+            log.warn("Disconnecting websocket api client, because more than {} frames were queued.", this.highWaterMark);
+            DISCONNECTED.increment();
+            this.close();
+            this.outbound.sendClose(WebSocketCloseStatus.POLICY_VIOLATION.code(), "OUTBOUND_OVERFLOW")
+                    .onErrorResume(e -> Mono.empty())
+                    .subscribe();
+            return;
+        }
+
+        this.drain();
+    }
+
+    private void removeKey(final String key) {
+        final Iterator<Push> iterator = this.queue.iterator();
+        while (iterator.hasNext()) {
+            final Push push = iterator.next();
+            if (Objects.equals(push.key, key)) {
+                iterator.remove();
+                ReferenceCountUtil.release(push.frame);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Emits queued frames as long as they are requested, only one thread drains at a time.
+     */
+    private void drain() {
+        if (this.wip.getAndIncrement() != 0) return;
+
+        do {
+            while (true) {
+                final FluxSink<WebSocketFrame> currentSink;
+                final Push push;
+                synchronized (this) {
+                    currentSink = this.sink;
+                    if (currentSink == null || currentSink.requestedFromDownstream() == 0 || this.queue.isEmpty()) break;
+                    push = this.queue.poll();
+                }
+                currentSink.next(push.frame);
+            }
+        } while (this.wip.decrementAndGet() != 0);
+    }
+
+    /**
+     * Releases the queued frames and completes the pushed frames.
+     */
+    private void close() {
+        final FluxSink<WebSocketFrame> currentSink;
+        synchronized (this) {
+            if (this.closed) return;
+            this.closed = true;
+            this.queue.forEach(push -> ReferenceCountUtil.release(push.frame));
+            this.queue.clear();
+            currentSink = this.sink;
+        }
+        if (currentSink != null) currentSink.complete();
+    }
+
+    public enum OverflowPolicy {
+        /**
+         * Drops the oldest queued frame.
+         */
+        DROP_OLDEST,
+        /**
+         * Replaces a queued frame with the same key, otherwise drops the oldest one.
+         */
+        COALESCE,
+        /**
+         * Closes the connection.
+         */
+        DISCONNECT
+    }
+
+    @RequiredArgsConstructor
+    private static final class Push {
+        private final WebSocketFrame frame;
+        private final String key;
+    }
+}
@@ -17,4 +17,9 @@ public class WebsocketApiRequest extends ApiRequest {
         super(endpoint, data, tag);
         this.context = context;
     }
+
+    public WebsocketApiRequest(final String tag, final String endpoint, final byte[] rawData, final WebsocketApiContext context) {
+        super(endpoint, rawData, tag);
+        this.context = context;
+    }
 }
@@ -1,104 +1,315 @@
 package net.cryptic_game.backend.base.api.handler.websocket;
 
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
-import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import net.cryptic_game.backend.base.api.codec.ApiCodec;
+import net.cryptic_game.backend.base.api.codec.ApiCodecs;
 import net.cryptic_game.backend.base.api.data.ApiEndpointData;
 import net.cryptic_game.backend.base.api.data.ApiResponse;
+import net.cryptic_game.backend.base.api.executor.ApiEndpoints;
 import net.cryptic_game.backend.base.api.executor.ApiExecutor;
-import net.cryptic_game.backend.base.json.JsonBuilder;
-import net.cryptic_game.backend.base.json.JsonUtils;
+import net.cryptic_game.backend.base.api.handler.ApiRequestParser;
+import net.cryptic_game.backend.base.api.handler.ApiResponseWriter;
+import net.cryptic_game.backend.base.network.server.http.route.WebsocketCompression;
 import net.cryptic_game.backend.base.network.server.http.route.WebsocketRoute;
 import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.netty.http.server.WebsocketServerSpec;
 import reactor.netty.http.websocket.WebsocketInbound;
 import reactor.netty.http.websocket.WebsocketOutbound;
 
-import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
 @Slf4j
 @RequiredArgsConstructor
 public final class WebsocketApiRoute implements WebsocketRoute {
 
-    private static final Charset CHARSET = StandardCharsets.UTF_8;
-    private final Map<String, ApiEndpointData> endpoints;
-    private final Set<WebsocketApiContext> contexts;
+    /**
+     * The payload of the frame which ends a stream.
+     */
+    private static final Object END = new Object();
+
+    private final ApiEndpoints endpoints;
+    private final WebsocketApiContexts contexts;
+    private final int batchLimit;
+    private final int maxInFlight;
+    private final boolean ordered;
+    private final int outboundHighWaterMark;
+    private final WebsocketApiOutbound.OverflowPolicy outboundOverflowPolicy;
+    @Getter
+    private final WebsocketCompression compression;
+
+    @Override
+    public WebsocketServerSpec getSpec() {
+        return WebsocketServerSpec.builder().protocols(ApiCodecs.getSubprotocols()).build();
+    }
 
     @Override
     public Publisher<Void> apply(final WebsocketInbound inbound, final WebsocketOutbound outbound) {
-        final WebsocketApiContext context = new WebsocketApiContext(inbound, outbound);
+        final WebsocketApiOutbound writer = new WebsocketApiOutbound(outbound, this.outboundHighWaterMark, this.outboundOverflowPolicy);
+        final WebsocketApiContext context = new WebsocketApiContext(inbound, outbound, ApiCodecs.get(outbound.selectedSubprotocol()), writer);
         this.contexts.add(context);
 
-        return outbound.sendString(
-                inbound.receive()
-                        .asString(CHARSET)
-                        .filter(content -> !(content.isEmpty() && content.isBlank()))
-                        .flatMap(content -> this.execute(context, content))
-                        .onErrorResume(this::handleError)
-                        .map(this::parseResponse)
-                        .doFinally(signal -> this.contexts.remove(context)),
-                CHARSET
+        final Flux<ApiResponse> responses = this.flatMap(inbound.receive(), content -> this.decode(context, content))
+                .onErrorResume(this::handleError);
+
+        return outbound.sendObject(
+                writer.merge(this.flatMap(responses, response -> this.send(context, response)))
+                        .doFinally(signal -> this.contexts.remove(context))
         );
     }
 
-    private Mono<ApiResponse> execute(final WebsocketApiContext context, final String content) {
-        final JsonObject json;
+    /**
+     * Completes requests in the order they finish or, if configured, in the order they were received.
+     */
+    private <T, R> Flux<R> flatMap(final Flux<T> flux, final Function<T, Publisher<R>> mapper) {
+        return this.ordered ? flux.flatMapSequential(mapper) : flux.flatMap(mapper);
+    }
+
+    private Flux<ApiResponse> decode(final WebsocketApiContext context, final ByteBuf frame) {
+        final ByteBuf content;
         try {
-            json = content.isEmpty() && content.isBlank() ? JsonUtils.EMPTY_OBJECT : JsonUtils.fromJson(JsonParser.parseString(content), JsonObject.class);
+            content = context.getCodec().toJson(context.getOutbound().alloc(), frame);
+        } catch (IOException e) {
+            return Flux.just(new ApiResponse(HttpResponseStatus.BAD_REQUEST, "JSON_SYNTAX"));
+        }
+
+        try {
+            return this.execute(context, content);
+        } finally {
+            if (content != frame) content.release();
+        }
+    }
+
+    /**
+     * Executes a frame, which is either a single request {@code {tag, endpoint, data, fields}},
+     * an array of requests which are answered with one frame per request
+     * or a batch {@code {tag, batch: [...]}} which is answered with one frame containing all responses in order.
+     * The frame is read synchronously, because it is released afterwards, only {@code data} is copied as raw bytes.
+     */
+    private Flux<ApiResponse> execute(final WebsocketApiContext context, final ByteBuf content) {
+        try {
+            switch (ApiRequestParser.peek(content)) {
+                case -1:
+                    return Flux.empty();
+                case '[':
+                    final List<ByteBuf> requests = ApiRequestParser.readArray(content);
+                    if (requests.size() > this.batchLimit) return Flux.just(new ApiResponse(HttpResponseStatus.BAD_REQUEST, "BATCH_TOO_LARGE"));
+                    final List<Mono<ApiResponse>> responses = this.parseRequests(context, requests);
+                    return this.ordered ? Flux.mergeSequential(responses) : Flux.merge(responses);
+                case '{':
+                    final Map<String, ByteBuf> json = ApiRequestParser.readObject(content);
+                    if (json.containsKey("batch")) return this.executeBatch(context, json).flux();
+                    return this.execute(context, json).flux();
+                default:
+                    return Flux.just(new ApiResponse(HttpResponseStatus.BAD_REQUEST, "JSON_SYNTAX"));
+            }
         } catch (JsonParseException e) {
-            return Mono.just(new ApiResponse(HttpResponseStatus.BAD_REQUEST, "JSON_SYNTAX"));
+            return Flux.just(new ApiResponse(HttpResponseStatus.BAD_REQUEST, "JSON_SYNTAX"));
+        }
+    }
+
+    /**
+     * A streamed response is sent as one frame per item with the tag of the request,
+     * followed by a frame {@code {status, tag, end: true}} whose status tells if the stream was complete.
+     */
+    private Publisher<WebSocketFrame> send(final WebsocketApiContext context, final ApiResponse response) {
+        if (!response.isStream()) return Mono.just(this.frame(context, response));
+
+        return response.getStream()
+                .map(item -> {
+                    final ApiResponse itemResponse = new ApiResponse(response.getStatus(), item);
+                    itemResponse.setTag(response.getTag());
+                    itemResponse.setFields(response.getFields());
+                    return itemResponse;
+                })
+                .concatWith(Mono.fromSupplier(() -> this.end(response, response.getStatus())))
+                .onErrorResume(cause -> {
+                    log.error("Error while streaming websocket api response {}.", response.getTag(), cause);
+                    return Mono.just(this.end(response, HttpResponseStatus.INTERNAL_SERVER_ERROR));
+                })
+                .map(itemResponse -> this.frame(context, itemResponse));
+    }
+
+    private ApiResponse end(final ApiResponse response, final HttpResponseStatus status) {
+        final ApiResponse end = new ApiResponse(status, END);
+        end.setTag(response.getTag());
+        return end;
+    }
+
+    private WebSocketFrame frame(final WebsocketApiContext context, final ApiResponse response) {
+        return context.frame(this.writeResponse(context.getOutbound().alloc(), context.getCodec(), response));
+    }
+
+    private Mono<ApiResponse> executeBatch(final WebsocketApiContext context, final Map<String, ByteBuf> json) {
+        final String tag = ApiRequestParser.readString(json.get("tag"));
+        final ByteBuf batch = json.get("batch");
+        final List<ByteBuf> requests = ApiRequestParser.peek(batch) == 'n' ? null : ApiRequestParser.readArray(batch);
+
+        final Mono<ApiResponse> response;
+        if (tag == null) {
+            response = Mono.just(new ApiResponse(HttpResponseStatus.BAD_REQUEST, "MISSING_TAG"));
+        } else if (requests == null) {
+            response = Mono.just(new ApiResponse(HttpResponseStatus.BAD_REQUEST, "MISSING_BATCH"));
+        } else if (requests.size() > this.batchLimit) {
+            response = Mono.just(new ApiResponse(HttpResponseStatus.BAD_REQUEST, "BATCH_TOO_LARGE"));
+        } else {
+            response = Flux.mergeSequential(this.parseRequests(context, requests))
+                    .concatMap(ApiResponse::collect)
+                    .collectList()
+                    .map(responses -> new ApiResponse(HttpResponseStatus.OK, new Batch(responses)));
         }
 
-        final String tag = JsonUtils.fromJson(json.get("tag"), String.class);
-        final JsonElement endpoint = json.get("endpoint");
+        return response.doOnNext(resp -> {
+            if (tag != null) resp.setTag(tag);
+        });
+    }
+
+    private List<Mono<ApiResponse>> parseRequests(final WebsocketApiContext context, final List<ByteBuf> requests) {
+        final List<Mono<ApiResponse>> responses = new ArrayList<>(requests.size());
+        for (final ByteBuf request : requests) {
+            try {
+                responses.add(ApiRequestParser.peek(request) == '{'
+                        ? this.execute(context, ApiRequestParser.readObject(request))
+                        : Mono.just(new ApiResponse(HttpResponseStatus.BAD_REQUEST, "JSON_SYNTAX")));
+            } catch (JsonParseException e) {
+                responses.add(Mono.just(new ApiResponse(HttpResponseStatus.BAD_REQUEST, "JSON_SYNTAX")));
+            }
+        }
+        return responses;
+    }
+
+    private Mono<ApiResponse> execute(final WebsocketApiContext context, final Map<String, ByteBuf> json) {
+        final String tag = ApiRequestParser.readString(json.get("tag"));
+        final String endpoint = ApiRequestParser.readString(json.get("endpoint"));
+        final ByteBuf data = json.get("data");
+        final int dataType = data == null ? 'n' : ApiRequestParser.peek(data);
+        final List<String> fieldList = ApiRequestParser.readStrings(json.get("fields"));
+        final Set<String> fields = fieldList == null ? null : Set.copyOf(fieldList);
 
         final Mono<ApiResponse> response;
 
         if (tag == null) {
             response = Mono.just(new ApiResponse(HttpResponseStatus.BAD_REQUEST, "MISSING_TAG"));
-        } else if (endpoint == null || endpoint.isJsonNull()) {
+        } else if (endpoint == null) {
             response = Mono.just(new ApiResponse(HttpResponseStatus.BAD_REQUEST, "MISSING_ENDPOINT"));
+        } else if (dataType != '{' && dataType != 'n') {
+            response = Mono.just(new ApiResponse(HttpResponseStatus.BAD_REQUEST, "JSON_SYNTAX"));
         } else {
-            response = ApiExecutor.execute(
-                    this.endpoints,
-                    new WebsocketApiRequest(
-                            tag,
-                            JsonUtils.fromJson(endpoint, String.class),
-                            Optional.ofNullable(JsonUtils.fromJson(json.get("data"), JsonObject.class)).orElse(JsonUtils.EMPTY_OBJECT),
-                            context
-                    )
-            );
+            final byte[] rawData = dataType == 'n' ? null : ApiRequestParser.readBytes(data);
+            final WebsocketApiRequest request = new WebsocketApiRequest(tag, endpoint, rawData, context);
+            request.setFields(fields);
+            response = Mono.defer(() -> this.execute(context, request));
         }
 
         return response.doOnNext(resp -> {
             if (tag != null) resp.setTag(tag);
+            resp.setFields(fields);
         });
     }
 
-    private String parseResponse(final ApiResponse response) {
-        final JsonObject status = JsonBuilder.create("code", response.getStatus().code())
-                .add("name", response.getStatus().reasonPhrase())
-                .build();
+    /**
+     * Batches and stream ends are written as a whole, all other responses are spliced into pre-encoded {@link WebsocketApiFrames}.
+     */
+    private ByteBuf writeResponse(final ByteBufAllocator allocator, final ApiCodec codec, final ApiResponse response) {
+        try {
+            if (response.getData() == END || response.getData() instanceof Batch) {
+                return ApiResponseWriter.write(allocator, codec, writer -> writeResponse(writer, response));
+            }
+            return WebsocketApiFrames.write(allocator, codec, response);
+        } catch (RuntimeException e) {
+            log.error("Error while writing websocket api response.", e);
+            final ApiResponse error = new ApiResponse(HttpResponseStatus.INTERNAL_SERVER_ERROR);
+            error.setTag(response.getTag());
+            return WebsocketApiFrames.write(allocator, codec, error);
+        }
+    }
+
+    /**
+     * Rejects the request if too many requests of the connection are in flight, instead of queuing it.
+     * A request is in flight until its response was emitted or, if it is streamed, until the stream terminated.
+     * Every request of an array or a batch counts on its own, so the requests of a batch exceeding the limit are rejected.
+     */
+    private Mono<ApiResponse> execute(final WebsocketApiContext context, final WebsocketApiRequest request) {
+        final ApiEndpointData endpoint = this.endpoints.get(request.getEndpoint());
+        final int endpointLimit = endpoint == null ? 0 : endpoint.getMaxInFlight();
+        if (!context.tryAcquire(request.getEndpoint(), this.maxInFlight, endpointLimit)) {
+            return Mono.just(new ApiResponse(HttpResponseStatus.TOO_MANY_REQUESTS, "TOO_MANY_REQUESTS"));
+        }
+
+        final AtomicBoolean released = new AtomicBoolean();
+        final Runnable release = () -> {
+            if (released.compareAndSet(false, true)) context.release(request.getEndpoint(), endpointLimit);
+        };
+        final AtomicBoolean streaming = new AtomicBoolean();
+
+        return ApiExecutor.execute(this.endpoints, request)
+                .map(response -> {
+                    if (!response.isStream()) return response;
 
-        final JsonBuilder builder = JsonBuilder.create("status", status);
+                    streaming.set(true);
+                    final ApiResponse streamResponse = new ApiResponse(response.getStatus(), response.getStream().doFinally(signal -> release.run()));
+                    streamResponse.setTag(response.getTag());
+                    streamResponse.setFields(response.getFields());
+                    return streamResponse;
+                })
+                .doFinally(signal -> {
+                    if (!streaming.get()) release.run();
+                });
+    }
+
+    /**
+     * Writes the envelope of a response, {@code status}, {@code tag}, {@code error} and {@code data},
+     * or {@code end} for the last frame of a stream.
+     */
+    public static void writeResponse(final JsonWriter writer, final ApiResponse response) throws IOException {
+        writer.beginObject();
+        writer.name("status").beginObject()
+                .name("code").value(response.getStatus().code())
+                .name("name").value(response.getStatus().reasonPhrase())
+                .endObject();
+
+        if (response.getTag() != null) writer.name("tag").value(response.getTag());
+        if (response.getError() != null) writer.name("error").value(response.getError());
 
-        if (response.getTag() != null) builder.add("tag", response.getTag());
-        if (response.getError() != null) builder.add("error", response.getError());
-        if (response.getJson() != null) builder.add("data", response.getJson());
+        if (response.getData() == END) {
+            writer.name("end").value(true);
+        } else if (response.getData() instanceof Batch) {
+            writer.name("data").beginArray();
+            for (final ApiResponse batchResponse : ((Batch) response.getData()).responses) writeResponse(writer, batchResponse);
+            writer.endArray();
+        } else if (response.getData() != null) {
+            writer.name("data");
+            response.writeJson(writer);
+        }
 
-        return builder.build().toString();
+        writer.endObject();
     }
 
     private Mono<ApiResponse> handleError(final Throwable cause) {
         log.error("Error while executing websocket api pipeline.", cause);
         return Mono.just(new ApiResponse(HttpResponseStatus.INTERNAL_SERVER_ERROR));
     }
+
+    /**
+     * The responses of a batch frame, which are written as one array of complete responses.
+     */
+    @RequiredArgsConstructor
+    private static final class Batch {
+        private final List<ApiResponse> responses;
+    }
 }
@@ -1,18 +1,25 @@
 package net.cryptic_game.backend.base.api.parser;
 
+import lombok.extern.slf4j.Slf4j;
+import net.cryptic_game.backend.base.api.ApiAuthenticator;
 import net.cryptic_game.backend.base.api.annotations.ApiEndpointCollection;
+import net.cryptic_game.backend.base.api.cache.ApiResponseCaches;
 import net.cryptic_game.backend.base.api.data.ApiEndpointCollectionData;
 import net.cryptic_game.backend.base.api.data.ApiEndpointData;
+import net.cryptic_game.backend.base.api.data.ApiSchedulerType;
 import net.cryptic_game.backend.base.api.data.AuthenticatorSupplier;
+import net.cryptic_game.backend.base.api.executor.ApiSchedulers;
 import org.springframework.aop.framework.AopProxyUtils;
 
 import java.util.AbstractMap;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+@Slf4j
 public final class ApiEndpointCollectionParser {
 
     private ApiEndpointCollectionParser() {
@@ -20,9 +27,10 @@ public final class ApiEndpointCollectionParser {
     }
 
     public static Set<ApiEndpointCollectionData> parseCollections(final Collection<Object> instances,
-                                                                  final AuthenticatorSupplier authenticatorSupplier) {
+                                                                  final AuthenticatorSupplier authenticatorSupplier,
+                                                                  final ApiSchedulers schedulers) {
         return instances.stream()
-                .map(instance -> parseCollection(instance, authenticatorSupplier))
+                .map(instance -> parseCollection(instance, authenticatorSupplier, schedulers))
                 .filter(Objects::nonNull)
                 .collect(Collectors.toUnmodifiableSet());
     }
@@ -35,13 +43,28 @@ public final class ApiEndpointCollectionParser {
     }
 
     private static ApiEndpointCollectionData parseCollection(final Object instance,
-                                                             final AuthenticatorSupplier authenticatorSupplier) {
+                                                             final AuthenticatorSupplier authenticatorSupplier,
+                                                             final ApiSchedulers schedulers) {
         final Class<?> clazz = AopProxyUtils.ultimateTargetClass(instance);
         if (!clazz.isAnnotationPresent(ApiEndpointCollection.class)) return null;
 
         final ApiEndpointCollection endpointCollectionAnnotation = clazz.getAnnotation(ApiEndpointCollection.class);
-        final Map<String, ApiEndpointData> parameters = ApiEndpointParser.parseEndpoints(instance, clazz,
-                endpointCollectionAnnotation.disabled(), authenticatorSupplier.apply(endpointCollectionAnnotation.authenticator()));
+        final ApiAuthenticator authenticator = authenticatorSupplier.apply(endpointCollectionAnnotation.authenticator());
+        final Map<String, ApiEndpointData> parameters = findRegistry(clazz)
+                .map(registry -> createEndpoints(registry, instance, clazz, endpointCollectionAnnotation.disabled(), authenticator))
+                .orElseGet(() -> ApiEndpointParser.parseEndpoints(instance, clazz, endpointCollectionAnnotation.disabled(), authenticator));
+
+        parameters.values().stream()
+                .filter(endpoint -> endpoint.getCache() != null)
+                .forEach(endpoint -> ApiResponseCaches.register(endpointCollectionAnnotation.id() + "/" + endpoint.getId(), endpoint.getCache()));
+
+        parameters.values().forEach(endpoint -> endpoint.setScheduler(schedulers.getScheduler(
+                endpoint.getSchedulerType() == ApiSchedulerType.INHERIT ? endpointCollectionAnnotation.scheduler() : endpoint.getSchedulerType(),
+                endpointCollectionAnnotation.id(),
+                endpointCollectionAnnotation.schedulerThreads(),
+                endpointCollectionAnnotation.schedulerQueue(),
+                endpoint.isSynchronous()
+        )));
 
         return new ApiEndpointCollectionData(
                 endpointCollectionAnnotation.id(),
@@ -52,4 +75,29 @@ public final class ApiEndpointCollectionParser {
                 parameters
         );
     }
+
+    /**
+     * @return the generated endpoints, or {@code null} if the generated registry does not match the collection (e.g. a stale build)
+     */
+    private static Map<String, ApiEndpointData> createEndpoints(final ApiEndpointRegistry registry, final Object instance, final Class<?> clazz,
+                                                                final boolean disabled, final ApiAuthenticator authenticator) {
+        try {
+            return registry.createEndpoints(instance, disabled, authenticator);
+        } catch (RuntimeException | LinkageError e) {
+            log.warn("Unable to create generated endpoints of {}, falling back to reflection.", clazz.getName(), e);
+            return null;
+        }
+    }
+
+    private static Optional<ApiEndpointRegistry> findRegistry(final Class<?> clazz) {
+        try {
+            final Class<?> registryClass = Class.forName(clazz.getName() + ApiEndpointRegistry.SUFFIX, true, clazz.getClassLoader());
+            return Optional.of((ApiEndpointRegistry) registryClass.getDeclaredConstructor().newInstance());
+        } catch (ClassNotFoundException e) {
+            return Optional.empty();
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            log.warn("Unable to load generated endpoints of {}, falling back to reflection.", clazz.getName(), e);
+            return Optional.empty();
+        }
+    }
 }
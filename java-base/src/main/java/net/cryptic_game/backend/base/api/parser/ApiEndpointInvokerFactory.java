@@ -0,0 +1,36 @@
+package net.cryptic_game.backend.base.api.parser;
+
+import net.cryptic_game.backend.base.api.data.ApiEndpointInvoker;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+public final class ApiEndpointInvokerFactory {
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+    private ApiEndpointInvokerFactory() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Creates an {@link ApiEndpointInvoker} backed by a {@link MethodHandle}, which is bound to the {@code instance}
+     * and adapted to take the parameters as an array. The access check is done once here instead of on every call.
+     *
+     * @param instance the instance the method is called on, ignored for static methods
+     * @param method   the endpoint method, has to be accessible
+     * @return the created {@link ApiEndpointInvoker}
+     * @throws IllegalAccessException if the {@code method} is not accessible
+     */
+    public static ApiEndpointInvoker create(final Object instance, final Method method) throws IllegalAccessException {
+        final MethodHandle unbound = MethodHandles.lookup().unreflect(method);
+        final MethodHandle handle = (Modifier.isStatic(method.getModifiers()) ? unbound : unbound.bindTo(instance))
+                .asSpreader(Object[].class, method.getParameterCount())
+                .asType(INVOKER_TYPE);
+
+        return parameters -> (Object) handle.invokeExact(parameters);
+    }
+}
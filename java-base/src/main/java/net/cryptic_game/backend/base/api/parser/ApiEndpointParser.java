@@ -3,9 +3,13 @@ package net.cryptic_game.backend.base.api.parser;
 import lombok.extern.slf4j.Slf4j;
 import net.cryptic_game.backend.base.api.ApiAuthenticator;
 import net.cryptic_game.backend.base.api.annotations.ApiEndpoint;
+import net.cryptic_game.backend.base.api.cache.ApiResponseCache;
 import net.cryptic_game.backend.base.api.data.ApiEndpointData;
+import net.cryptic_game.backend.base.api.data.ApiEndpointInvoker;
 import net.cryptic_game.backend.base.api.data.ApiParameterData;
+import net.cryptic_game.backend.base.api.data.ApiParameterType;
 import net.cryptic_game.backend.base.api.data.ApiResponse;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.lang.reflect.Method;
@@ -50,9 +54,10 @@ final class ApiEndpointParser {
         }
 
         final Class<?> returnType = method.getReturnType();
-        if (!(returnType.equals(ApiResponse.class) || returnType.equals(Mono.class))) {
-            log.error("Endpoint {}.{} cannot be parsed because it does not have the return type {} or {}<{}>.",
-                    clazz.getName(), method.getName(), ApiResponse.class.getName(), Mono.class.getName(), ApiResponse.class.getName());
+        if (!(returnType.equals(ApiResponse.class) || returnType.equals(Mono.class) || returnType.equals(Flux.class))) {
+            log.error("Endpoint {}.{} cannot be parsed because it does not have the return type {}, {}<{}> or {}.",
+                    clazz.getName(), method.getName(), ApiResponse.class.getName(), Mono.class.getName(), ApiResponse.class.getName(),
+                    Flux.class.getName());
             if (!hasAccess) method.setAccessible(false);
             return null;
         }
@@ -60,16 +65,39 @@ final class ApiEndpointParser {
         final ApiEndpoint endpointAnnotation = method.getAnnotation(ApiEndpoint.class);
         final ApiParameterData[] parameters = ApiParameterParser.parseParameters(clazz, method);
 
-        return new ApiEndpointData(
-                String.join("\n", endpointAnnotation.description()),
-                endpointAnnotation.authentication(),
-                clazz,
-                endpointAnnotation.disabled() || parameters == null || disabled,
-                authenticator,
-                endpointAnnotation.id(),
-                parameters == null || parameters.length == 0 ? EMPTY_PARAMETERS : parameters,
-                instance,
-                method
-        );
+        final boolean singleFlight = endpointAnnotation.singleFlight() && parameters != null && Arrays.stream(parameters)
+                .noneMatch(parameter -> parameter.getType() == ApiParameterType.REQUEST);
+        if (endpointAnnotation.singleFlight() && !singleFlight) {
+            log.warn("Endpoint {}.{} cannot use single flight because it has a {} parameter.",
+                    clazz.getName(), method.getName(), ApiParameterType.REQUEST);
+        }
+
+        final ApiEndpointInvoker invoker;
+        try {
+            invoker = ApiEndpointInvokerFactory.create(instance, method);
+        } catch (IllegalAccessException e) {
+            log.error("Unable to create an invoker for endpoint {}.{}.", clazz.getName(), method.getName(), e);
+            if (!hasAccess) method.setAccessible(false);
+            return null;
+        }
+
+        return ApiEndpointData.builder()
+                .description(String.join("\n", endpointAnnotation.description()))
+                .authentication(endpointAnnotation.authentication())
+                .clazz(clazz)
+                .disabled(endpointAnnotation.disabled() || parameters == null || disabled)
+                .authenticator(authenticator)
+                .id(endpointAnnotation.id())
+                .parameters(parameters == null || parameters.length == 0 ? EMPTY_PARAMETERS : parameters)
+                .instance(instance)
+                .method(method)
+                .invoker(invoker)
+                .schedulerType(endpointAnnotation.scheduler())
+                .synchronous(returnType.equals(ApiResponse.class))
+                .cache(ApiResponseCache.create(endpointAnnotation.cache().ttl(), endpointAnnotation.cache().key(),
+                        endpointAnnotation.cache().condition(), endpointAnnotation.cache().size()))
+                .singleFlight(singleFlight)
+                .maxInFlight(Math.max(endpointAnnotation.maxInFlight(), 0))
+                .build();
     }
 }
@@ -0,0 +1,16 @@
+package net.cryptic_game.backend.base.api.parser;
+
+import net.cryptic_game.backend.base.api.ApiAuthenticator;
+import net.cryptic_game.backend.base.api.data.ApiEndpointData;
+
+import java.util.Map;
+
+/**
+ * Endpoints of a collection, generated at build time by the {@code api-processor} as {@code <Collection>_ApiEndpoints}.
+ */
+public interface ApiEndpointRegistry {
+
+    String SUFFIX = "_ApiEndpoints";
+
+    Map<String, ApiEndpointData> createEndpoints(Object instance, boolean disabled, ApiAuthenticator authenticator);
+}
@@ -5,6 +5,7 @@ import lombok.Getter;
 import lombok.Setter;
 import net.cryptic_game.backend.base.api.ApiAuthenticator;
 import net.cryptic_game.backend.base.api.data.ApiEndpointData;
+import net.cryptic_game.backend.base.api.data.ApiSchedulerType;
 
 import java.lang.reflect.Method;
 
@@ -18,6 +19,7 @@ public final class DaemonEndpointData extends ApiEndpointData {
     public DaemonEndpointData(final String id, final String description, final int authentication,
                               final boolean disabled, final ApiAuthenticator authenticator, final Object instance, final Class<?> clazz,
                               final Method method) {
-        super(description, authentication, clazz, disabled, authenticator, id, null, instance, method);
+        super(description, authentication, clazz, disabled, authenticator, id, null, instance, method, null,
+                ApiSchedulerType.EVENT_LOOP, false, null, null, false, 0);
     }
 }
@@ -0,0 +1,33 @@
+package net.cryptic_game.backend.base.jpa;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import reactor.core.publisher.Flux;
+
+import java.util.function.Function;
+
+public final class JpaStreams {
+
+    private JpaStreams() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Streams the result of a query page by page, the next page is only queried when the items of the previous one were requested.
+     * Unlike a {@link java.util.stream.Stream} query, no transaction and connection is held open while the items are sent.
+     *
+     * @param query    the paged query, e.g. a repository method returning a {@link Slice}
+     * @param pageSize the number of items queried at once
+     * @param <T>      the type of the items
+     * @return the items of all pages
+     */
+    public static <T> Flux<T> paged(final Function<Pageable, Slice<T>> query, final int pageSize) {
+        return Flux.<Slice<T>, Pageable>generate(() -> PageRequest.of(0, pageSize), (pageable, sink) -> {
+            final Slice<T> slice = query.apply(pageable);
+            sink.next(slice);
+            if (!slice.hasNext()) sink.complete();
+            return slice.nextPageable();
+        }).concatMapIterable(Slice::getContent, 1);
+    }
+}
@@ -0,0 +1,16 @@
+package net.cryptic_game.backend.base.json;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Caches the serialized form of the annotated entity by its type, id and
+ * {@link net.cryptic_game.backend.base.jpa.model.TableModel#getVersion() version}, see {@link SerializedFormCache}.
+ * The serialized form may only depend on the columns of the entity itself, as changes of related entities do not change the version.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface JsonCached {
+}
@@ -0,0 +1,15 @@
+package net.cryptic_game.backend.base.json;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Writes only the id of the referenced entity as {@code <field>_id}, instead of the whole entity.
+ * Only used by the writers generated for {@link JsonStreamable} classes.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface JsonReference {
+}
@@ -0,0 +1,27 @@
+package net.cryptic_game.backend.base.json;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Writes an object field by field, generated at build time by the {@code json-processor} as {@code <Class>_JsonWriter}
+ * for every {@link JsonStreamable} class.
+ *
+ * @param <T> the type of the written objects
+ */
+public interface JsonStreamWriter<T> {
+
+    String SUFFIX = "_JsonWriter";
+
+    void write(Gson gson, JsonWriter writer, T value) throws IOException;
+
+    /**
+     * Writes a value, which has no dedicated method on the {@link JsonWriter}, with the type adapters of Gson.
+     */
+    static void writeObject(final Gson gson, final JsonWriter writer, final Object value) throws IOException {
+        if (value == null) writer.nullValue();
+        else gson.toJson(value, value.getClass(), writer);
+    }
+}
@@ -0,0 +1,62 @@
+package net.cryptic_game.backend.base.json;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serializes {@link JsonStreamable} classes with their generated {@link JsonStreamWriter}.
+ * Classes without a generated writer and {@link JsonSerializable} classes are left to the other adapters,
+ * reading is always delegated.
+ */
+@Slf4j
+public final class JsonStreamWriterFactory implements TypeAdapterFactory {
+
+    private final Map<Class<?>, Optional<JsonStreamWriter<?>>> writers = new ConcurrentHashMap<>();
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(final Gson gson, final TypeToken<T> type) {
+        final Class<? super T> rawType = type.getRawType();
+        if (JsonSerializable.class.isAssignableFrom(rawType) || !rawType.isAnnotationPresent(JsonStreamable.class)) return null;
+
+        final Optional<JsonStreamWriter<?>> streamWriter = this.writers.computeIfAbsent(rawType, JsonStreamWriterFactory::findWriter);
+        if (streamWriter.isEmpty()) return null;
+
+        final JsonStreamWriter<T> writer = (JsonStreamWriter<T>) streamWriter.get();
+        final TypeAdapter<T> delegate = gson.getDelegateAdapter(this, type);
+        return new TypeAdapter<>() {
+            @Override
+            public void write(final JsonWriter out, final T value) throws IOException {
+                if (value == null) out.nullValue();
+                else writer.write(gson, out, value);
+            }
+
+            @Override
+            public T read(final JsonReader in) throws IOException {
+                return delegate.read(in);
+            }
+        };
+    }
+
+    private static Optional<JsonStreamWriter<?>> findWriter(final Class<?> clazz) {
+        try {
+            final Class<?> writerClass = Class.forName(clazz.getName() + JsonStreamWriter.SUFFIX, true, clazz.getClassLoader());
+            return Optional.of((JsonStreamWriter<?>) writerClass.getDeclaredConstructor().newInstance());
+        } catch (ClassNotFoundException e) {
+            return Optional.empty();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            log.warn("Unable to load generated json writer of {}, falling back to reflection.", clazz.getName(), e);
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package net.cryptic_game.backend.base.json;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates a {@link JsonStreamWriter} for the annotated class at build time, which writes the fields
+ * the same way Gson would do with reflection, but without reflection or an intermediate json tree.
+ * A hand-written {@link JsonSerializable#serialize()} always takes precedence over the generated writer.
+ *
+ * @see JsonReference
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface JsonStreamable {
+}
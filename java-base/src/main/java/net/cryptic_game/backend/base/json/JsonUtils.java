@@ -5,8 +5,11 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonWriter;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import net.cryptic_game.backend.base.json.types.InstantTypeAdapter;
@@ -28,6 +31,8 @@ public final class JsonUtils {
             .serializeNulls()
             .serializeSpecialFloatingPointValues()
             .setExclusionStrategies(new JsonExclusionStrategy())
+            .registerTypeAdapterFactory(new JsonStreamWriterFactory())
+            .registerTypeAdapterFactory(new SerializedFormCache())
             .registerTypeHierarchyAdapter(JsonSerializable.class, new JsonSerializableSerializer())
             .registerTypeHierarchyAdapter(Instant.class, new InstantTypeAdapter())
             .registerTypeHierarchyAdapter(OffsetDateTime.class, new OffsetDateTimeAdapter())
@@ -48,6 +53,14 @@ public final class JsonUtils {
         return GSON.toJsonTree(object);
     }
 
+    /**
+     * Streams an object into a {@link JsonWriter} without building a json tree first.
+     */
+    public static void write(final Object object, final JsonWriter writer) throws JsonIOException {
+        if (object == null) GSON.toJson(JsonNull.INSTANCE, writer);
+        else GSON.toJson(object, object.getClass(), writer);
+    }
+
     public static <T> JsonArray toArray(final Collection<T> collection, final Function<T, Object> function) {
         final JsonArray array = new JsonArray();
         collection.forEach(item -> array.add(JsonUtils.toJson(function.apply(item))));
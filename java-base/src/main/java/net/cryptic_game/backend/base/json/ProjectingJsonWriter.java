@@ -0,0 +1,170 @@
+package net.cryptic_game.backend.base.json;
+
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Set;
+
+/**
+ * Writes only the selected fields of an object, or of every object in an array, and drops the other fields while they are written.
+ * The values of the selected fields are written completely.
+ */
+public final class ProjectingJsonWriter extends JsonWriter {
+
+    private static final Writer UNUSED = Writer.nullWriter();
+
+    private final JsonWriter delegate;
+    private final Set<String> fields;
+
+    private int depth;
+    private boolean array;
+    private boolean skipValue;
+    private int skipDepth = -1;
+
+    public ProjectingJsonWriter(final JsonWriter delegate, final Set<String> fields) {
+        super(UNUSED);
+        this.delegate = delegate;
+        this.fields = fields;
+        this.setSerializeNulls(delegate.getSerializeNulls());
+        this.setLenient(delegate.isLenient());
+    }
+
+    @Override
+    public JsonWriter beginArray() throws IOException {
+        if (this.skipContainer()) {
+            this.depth++;
+            return this;
+        }
+        if (this.depth == 0) this.array = true;
+        this.depth++;
+        this.delegate.beginArray();
+        return this;
+    }
+
+    @Override
+    public JsonWriter endArray() throws IOException {
+        if (this.endContainer()) this.delegate.endArray();
+        return this;
+    }
+
+    @Override
+    public JsonWriter beginObject() throws IOException {
+        if (this.skipContainer()) {
+            this.depth++;
+            return this;
+        }
+        if (this.depth == 0) this.array = false;
+        this.depth++;
+        this.delegate.beginObject();
+        return this;
+    }
+
+    @Override
+    public JsonWriter endObject() throws IOException {
+        if (this.endContainer()) this.delegate.endObject();
+        return this;
+    }
+
+    @Override
+    public JsonWriter name(final String name) throws IOException {
+        if (this.skipDepth != -1) return this;
+        if (this.depth == (this.array ? 2 : 1) && !this.fields.contains(name)) {
+            this.skipValue = true;
+            return this;
+        }
+        this.delegate.name(name);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(final String value) throws IOException {
+        if (!this.skipValue()) this.delegate.value(value);
+        return this;
+    }
+
+    /**
+     * Already encoded json is parsed again if it contains fields which have to be dropped.
+     */
+    @Override
+    public JsonWriter jsonValue(final String value) throws IOException {
+        if (this.skipValue()) return this;
+        if (value != null && (this.depth == 0 || this.depth == 1 && this.array)) JsonUtils.write(JsonParser.parseString(value), this);
+        else this.delegate.jsonValue(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter nullValue() throws IOException {
+        if (!this.skipValue()) this.delegate.nullValue();
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(final boolean value) throws IOException {
+        if (!this.skipValue()) this.delegate.value(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(final Boolean value) throws IOException {
+        if (!this.skipValue()) this.delegate.value(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(final double value) throws IOException {
+        if (!this.skipValue()) this.delegate.value(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(final long value) throws IOException {
+        if (!this.skipValue()) this.delegate.value(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(final Number value) throws IOException {
+        if (!this.skipValue()) this.delegate.value(value);
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.delegate.flush();
+    }
+
+    /**
+     * The delegate is closed by its owner.
+     */
+    @Override
+    public void close() {
+    }
+
+    private boolean skipValue() {
+        if (this.skipDepth != -1) return true;
+        final boolean skip = this.skipValue;
+        this.skipValue = false;
+        return skip;
+    }
+
+    private boolean skipContainer() {
+        if (this.skipDepth == -1 && this.skipValue) {
+            this.skipValue = false;
+            this.skipDepth = this.depth;
+        }
+        return this.skipDepth != -1;
+    }
+
+    /**
+     * @return if the end of the container has to be written
+     */
+    private boolean endContainer() {
+        this.depth--;
+        if (this.skipDepth == -1) return true;
+        if (this.skipDepth == this.depth) this.skipDepth = -1;
+        return false;
+    }
+}
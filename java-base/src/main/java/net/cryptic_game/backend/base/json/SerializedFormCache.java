@@ -0,0 +1,121 @@
+package net.cryptic_game.backend.base.json;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.internal.bind.JsonTreeWriter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import net.cryptic_game.backend.base.jpa.model.TableModel;
+import net.cryptic_game.backend.base.jpa.model.TableModelAutoId;
+import net.cryptic_game.backend.base.jpa.model.TableModelId;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.Status;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+/**
+ * Keeps the encoded json text of {@link JsonCached} entities, keyed by {@code (type, id, version)}.
+ * Every update of an entity increments its version, so outdated forms are never hit and are evicted by size.
+ * The text is written with {@link JsonWriter#jsonValue(String)}, the cbor writer copies it into its own format.
+ * Json trees are built without the cache, their writer does not accept encoded json.
+ * Entities without id or version, i.e. not yet persisted, and entities with unflushed changes in the current transaction are not cached.
+ * Forms encoded inside a transaction are only cached after its commit, as a flush which incremented the version may still be rolled back.
+ * Detached entities are expected to match their version.
+ */
+public final class SerializedFormCache implements TypeAdapterFactory {
+
+    private static final int MAXIMUM_SIZE = 10_000;
+
+    private final Cache<List<Object>, String> cache = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .build();
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(final Gson gson, final TypeToken<T> type) {
+        final Class<? super T> rawType = type.getRawType();
+        if (!TableModel.class.isAssignableFrom(rawType) || !rawType.isAnnotationPresent(JsonCached.class)) return null;
+
+        final TypeAdapter<T> delegate = gson.getDelegateAdapter(this, type);
+        return new TypeAdapter<>() {
+            @Override
+            public void write(final JsonWriter out, final T value) throws IOException {
+                final List<Object> key = value == null || out instanceof JsonTreeWriter ? null : getKey((TableModel) value);
+                if (key == null || isDirty(value)) {
+                    delegate.write(out, value);
+                    return;
+                }
+
+                // no computing get, the form of an entity may contain other cached entities
+                String json = SerializedFormCache.this.cache.getIfPresent(key);
+                if (json == null) {
+                    final StringWriter writer = new StringWriter();
+                    delegate.write(gson.newJsonWriter(writer), value);
+                    json = writer.toString();
+                    SerializedFormCache.this.put(key, json);
+                }
+                out.jsonValue(json);
+            }
+
+            @Override
+            public T read(final JsonReader in) throws IOException {
+                return delegate.read(in);
+            }
+        };
+    }
+
+    private static List<Object> getKey(final TableModel model) {
+        final Object id;
+        if (model instanceof TableModelAutoId) id = ((TableModelAutoId) model).getId();
+        else if (model instanceof TableModelId) id = ((TableModelId) model).getId();
+        else id = null;
+
+        return id == null || model.getVersion() == null ? null : List.of(model.getClass(), id, model.getVersion());
+    }
+
+    private void put(final List<Object> key, final String json) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            this.cache.put(key, json);
+        } else if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    SerializedFormCache.this.cache.put(key, json);
+                }
+            });
+        }
+    }
+
+    /**
+     * Outside of a transaction changes are not flushed, the entity is saved in a transaction of its own which increments the version.
+     *
+     * @return if the entity is managed by the persistence context of the current transaction and was changed since it was loaded or flushed
+     */
+    private static boolean isDirty(final Object entity) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) return false;
+
+        for (final Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+            if (!(resource instanceof EntityManagerHolder)) continue;
+
+            final SessionImplementor session = ((EntityManagerHolder) resource).getEntityManager().unwrap(SessionImplementor.class);
+            final EntityEntry entry = session.getPersistenceContextInternal().getEntry(entity);
+            if (entry == null) continue;
+            if (entry.getStatus() != Status.MANAGED || entry.getLoadedState() == null) return true;
+
+            final EntityPersister persister = entry.getPersister();
+            return persister.findDirty(persister.getPropertyValues(entity), entry.getLoadedState(), entity, session) != null;
+        }
+        return false;
+    }
+}
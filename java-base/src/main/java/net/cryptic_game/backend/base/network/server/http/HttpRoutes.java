@@ -1,9 +1,12 @@
 package net.cryptic_game.backend.base.network.server.http;
 
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.QueryStringDecoder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.cryptic_game.backend.base.network.server.http.route.HttpRoute;
+import net.cryptic_game.backend.base.network.server.http.route.WebsocketCompression;
+import net.cryptic_game.backend.base.network.server.http.route.WebsocketRoute;
 import net.cryptic_game.backend.base.utils.HttpUtils;
 import org.reactivestreams.Publisher;
 import reactor.netty.http.server.HttpServerRequest;
@@ -31,6 +34,25 @@ public final class HttpRoutes {
         return new Handler(this.routes.entrySet());
     }
 
+    /**
+     * @param uri the uri of an upgrade request
+     * @return the compression of the websocket route of the uri, or {@code null} if it does not compress or is no websocket route
+     */
+    WebsocketCompression getCompression(final String uri) {
+        String path = new QueryStringDecoder(uri).path();
+        if (path.startsWith("/")) path = path.substring(1);
+        if (path.endsWith("/")) path = path.substring(0, path.length() - 1);
+        final String routePath = path.toLowerCase() + "/";
+
+        return this.routes.entrySet().stream()
+                .filter(entry -> routePath.startsWith(entry.getKey()))
+                .findFirst()
+                .map(Map.Entry::getValue)
+                .filter(route -> route instanceof WebsocketRoute)
+                .map(route -> ((WebsocketRoute) route).getCompression())
+                .orElse(null);
+    }
+
     @Slf4j
     @RequiredArgsConstructor
     private static final class Handler implements BiFunction<HttpServerRequest, HttpServerResponse, Publisher<Void>> {
@@ -1,5 +1,6 @@
 package net.cryptic_game.backend.base.network.server.http;
 
+import io.netty.channel.ChannelPipeline;
 import io.netty.handler.ssl.OpenSsl;
 import io.netty.handler.ssl.SslContextBuilder;
 import lombok.Getter;
@@ -8,6 +9,7 @@ import lombok.extern.slf4j.Slf4j;
 import net.cryptic_game.backend.base.network.server.Server;
 import org.springframework.util.unit.DataSize;
 import reactor.netty.DisposableServer;
+import reactor.netty.NettyPipeline;
 import reactor.netty.http.HttpProtocol;
 
 import javax.net.ssl.SSLException;
@@ -20,6 +22,8 @@ import java.time.Duration;
 @RequiredArgsConstructor
 public final class HttpServer implements Server {
 
+    private static final String WEBSOCKET_EXTENSIONS = "websocketExtensions";
+
     private final String id;
     private final SocketAddress address;
     private final Duration lifecycleTimeout;
@@ -44,7 +48,14 @@ public final class HttpServer implements Server {
         reactor.netty.http.server.HttpServer server = reactor.netty.http.server.HttpServer.create()
                 .bindAddress(() -> this.address)
                 .compress((int) DataSize.ofKilobytes(5).toBytes())
-                .forwarded(true);
+                .forwarded(true)
+                .doOnChannelInit((observer, channel, remoteAddress) -> {
+                    // behind the http codec, negotiates the websocket extensions of upgrade requests, see WebsocketCompression
+                    final ChannelPipeline pipeline = channel.pipeline();
+                    if (pipeline.get(NettyPipeline.HttpTrafficHandler) != null) {
+                        pipeline.addBefore(NettyPipeline.HttpTrafficHandler, WEBSOCKET_EXTENSIONS, new WebsocketExtensionHandler(this.routes));
+                    }
+                });
 
         if (this.certificateFile == null || this.keyFile == null)
             server = server.protocol(HttpProtocol.HTTP11, HttpProtocol.H2C);
@@ -0,0 +1,59 @@
+package net.cryptic_game.backend.base.network.server.http;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketExtensionData;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketServerExtension;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketServerExtensionHandler;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketServerExtensionHandshaker;
+import net.cryptic_game.backend.base.network.server.http.route.WebsocketCompression;
+
+/**
+ * The extension handler of netty for one http connection, placed behind the http codec.
+ * It negotiates the extensions of an upgrade request with the {@link WebsocketCompression} of its route and adds
+ * the encoder and decoder once the handshake response is written.
+ */
+final class WebsocketExtensionHandler extends WebSocketServerExtensionHandler {
+
+    private final RouteHandshaker handshaker;
+
+    WebsocketExtensionHandler(final HttpRoutes routes) {
+        this(new RouteHandshaker(routes));
+    }
+
+    private WebsocketExtensionHandler(final RouteHandshaker handshaker) {
+        super(handshaker);
+        this.handshaker = handshaker;
+    }
+
+    @Override
+    public void channelRead(final ChannelHandlerContext ctx, final Object msg) throws Exception {
+        if (msg instanceof HttpRequest) {
+            final HttpRequest request = (HttpRequest) msg;
+            this.handshaker.compression = request.headers().containsValue(HttpHeaderNames.UPGRADE, HttpHeaderValues.WEBSOCKET, true)
+                    ? this.handshaker.routes.getCompression(request.uri())
+                    : null;
+        }
+        super.channelRead(ctx, msg);
+    }
+
+    /**
+     * Delegates to the compression of the route of the current request, the requests of a connection are read one after another.
+     */
+    private static final class RouteHandshaker implements WebSocketServerExtensionHandshaker {
+
+        private final HttpRoutes routes;
+        private WebsocketCompression compression;
+
+        private RouteHandshaker(final HttpRoutes routes) {
+            this.routes = routes;
+        }
+
+        @Override
+        public WebSocketServerExtension handshakeExtension(final WebSocketExtensionData extensionData) {
+            return this.compression == null ? null : this.compression.handshakeExtension(extensionData);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package net.cryptic_game.backend.base.network.server.http.route;
+
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketExtensionData;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketExtensionFilter;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketExtensionFilterProvider;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketServerExtension;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketServerExtensionHandshaker;
+import io.netty.handler.codec.http.websocketx.extensions.compression.PerMessageDeflateServerExtensionHandshaker;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Negotiates {@code permessage-deflate} (RFC 7692) for a websocket route.
+ * Frames below the threshold are sent uncompressed, and the memory per connection is bounded by the window size and,
+ * without context takeover, by releasing the compressor after every message.
+ * The extension handler of netty is added to every http connection by the server and asks the route of the upgrade request.
+ */
+public final class WebsocketCompression implements WebSocketServerExtensionHandshaker, WebSocketExtensionFilterProvider {
+
+    private static final String EXTENSION = "permessage-deflate";
+    private static final String SERVER_NO_CONTEXT = "server_no_context_takeover";
+    private static final String SERVER_MAX_WINDOW = "server_max_window_bits";
+    private static final int MAX_WINDOW_BITS = 15;
+
+    private final int threshold;
+    private final boolean contextTakeover;
+    private final int windowBits;
+    private final PerMessageDeflateServerExtensionHandshaker handshaker;
+
+    /**
+     * @param threshold        the minimal size of a frame to be compressed, in bytes
+     * @param compressionLevel the deflate level, {@code 0} - {@code 9}
+     * @param contextTakeover  if the compression context is kept between messages, which compresses better but keeps the
+     *                         compressor of every connection allocated
+     * @param windowBits       the size of the sliding windows, {@code 8} - {@code 15}, smaller windows need the {@code jzlib} encoder
+     */
+    public WebsocketCompression(final int threshold, final int compressionLevel, final boolean contextTakeover, final int windowBits) {
+        this.threshold = threshold;
+        this.contextTakeover = contextTakeover;
+        this.windowBits = windowBits;
+        this.handshaker = new PerMessageDeflateServerExtensionHandshaker(compressionLevel, true, windowBits, true, !contextTakeover, this);
+    }
+
+    @Override
+    public WebSocketServerExtension handshakeExtension(final WebSocketExtensionData extensionData) {
+        if (!EXTENSION.equals(extensionData.name())) return null;
+
+        // the server may restrict its own side even if the client did not offer it
+        final Map<String, String> parameters = new HashMap<>(extensionData.parameters());
+        if (!this.contextTakeover) parameters.put(SERVER_NO_CONTEXT, null);
+        if (this.windowBits < MAX_WINDOW_BITS) {
+            parameters.merge(SERVER_MAX_WINDOW, String.valueOf(this.windowBits),
+                    (offered, own) -> offered.matches("\\d{1,2}") && Integer.parseInt(offered) < this.windowBits ? offered : own);
+        }
+
+        return this.handshaker.handshakeExtension(new WebSocketExtensionData(extensionData.name(), parameters));
+    }
+
+    @Override
+    public WebSocketExtensionFilter encoderFilter() {
+        return frame -> frame.content().readableBytes() < this.threshold;
+    }
+
+    @Override
+    public WebSocketExtensionFilter decoderFilter() {
+        return WebSocketExtensionFilter.NEVER_SKIP;
+    }
+}
@@ -9,6 +9,7 @@ import org.reactivestreams.Publisher;
 import reactor.core.publisher.Mono;
 import reactor.netty.http.server.HttpServerRequest;
 import reactor.netty.http.server.HttpServerResponse;
+import reactor.netty.http.server.WebsocketServerSpec;
 import reactor.netty.http.websocket.WebsocketInbound;
 import reactor.netty.http.websocket.WebsocketOutbound;
 
@@ -21,13 +22,27 @@ public interface WebsocketRoute extends HttpRoute, BiFunction<WebsocketInbound,
         return HttpUtils.checkMethod(request, response, HttpMethod.GET)
                 .orElseGet(() ->
                         request.requestHeaders().containsValue(HttpHeaderNames.CONNECTION, HttpHeaderValues.UPGRADE, true)
-                                ? response.sendWebsocket(this)
+                                ? response.sendWebsocket(this, this.getSpec())
                                 : response.status(HttpResponseStatus.BAD_REQUEST)
                                 .header(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.TEXT_PLAIN)
                                 .sendString(Mono.justOrEmpty("not a WebSocket handshake request: missing upgrade"))
                 );
     }
 
+    /**
+     * @return the handshake settings, e.g. the supported subprotocols
+     */
+    default WebsocketServerSpec getSpec() {
+        return WebsocketServerSpec.builder().build();
+    }
+
+    /**
+     * @return the compression of the frames, or {@code null} to send them uncompressed
+     */
+    default WebsocketCompression getCompression() {
+        return null;
+    }
+
     @Override
     Publisher<Void> apply(WebsocketInbound inbound, WebsocketOutbound outbound);
 }
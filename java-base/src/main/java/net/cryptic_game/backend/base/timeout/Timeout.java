@@ -1,24 +1,67 @@
 package net.cryptic_game.backend.base.timeout;
 
-import lombok.EqualsAndHashCode;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
-@EqualsAndHashCode
-class Timeout {
+/**
+ * A task scheduled with the {@link TimeoutService}.
+ * The links to the other timeouts of its bucket are only accessed by the thread of the timing wheel.
+ */
+public final class Timeout {
 
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+    private static final AtomicIntegerFieldUpdater<Timeout> STATE = AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+    private final TimeoutService service;
     private final long reached;
     private final Runnable runnable;
+    private volatile int state;
+
+    long remainingRounds;
+    Timeout next;
+    Timeout previous;
+    TimeoutBucket bucket;
 
-    Timeout(final long ms, final Runnable runnable) {
-        this.reached = System.currentTimeMillis() + ms;
+    /**
+     * @param reached the time the timeout is reached at, in nanoseconds since the start of the service
+     */
+    Timeout(final TimeoutService service, final long reached, final Runnable runnable) {
+        this.service = service;
+        this.reached = reached;
         this.runnable = runnable;
     }
 
+    /**
+     * @return if the timeout was cancelled, {@code false} if it already expired or was cancelled before
+     */
+    public boolean cancel() {
+        if (!STATE.compareAndSet(this, PENDING, CANCELLED)) return false;
+        this.service.cancelled(this);
+        return true;
+    }
+
+    public boolean isCancelled() {
+        return this.state == CANCELLED;
+    }
+
+    public boolean isExpired() {
+        return this.state == EXPIRED;
+    }
+
+    long getReached() {
+        return this.reached;
+    }
+
+    /**
+     * Hands the task to the executor of the service if the timeout is reached and was not cancelled.
+     *
+     * @return if the timeout is reached
+     */
     boolean doTick(final long currentTime) {
-        if (this.isReached(currentTime)) {
-            this.runnable.run();
-            return true;
-        }
-        return false;
+        if (!this.isReached(currentTime)) return false;
+        if (STATE.compareAndSet(this, PENDING, EXPIRED)) this.service.expired(this.runnable);
+        return true;
     }
 
     private boolean isReached(final long currentTime) {
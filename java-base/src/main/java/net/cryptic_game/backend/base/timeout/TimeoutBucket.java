@@ -0,0 +1,60 @@
+package net.cryptic_game.backend.base.timeout;
+
+/**
+ * A doubly linked list of timeouts, so they can be added and removed in constant time.
+ * Only accessed by the thread of the timing wheel.
+ */
+final class TimeoutBucket {
+
+    private Timeout head;
+    private Timeout tail;
+
+    void add(final Timeout timeout) {
+        timeout.bucket = this;
+        if (this.head == null) {
+            this.head = timeout;
+            this.tail = timeout;
+        } else {
+            this.tail.next = timeout;
+            timeout.previous = this.tail;
+            this.tail = timeout;
+        }
+    }
+
+    /**
+     * @return the timeout after the removed one
+     */
+    Timeout remove(final Timeout timeout) {
+        final Timeout next = timeout.next;
+        if (timeout.previous != null) timeout.previous.next = next;
+        if (next != null) next.previous = timeout.previous;
+        if (timeout == this.head) this.head = next;
+        if (timeout == this.tail) this.tail = timeout.previous;
+
+        timeout.previous = null;
+        timeout.next = null;
+        timeout.bucket = null;
+        return next;
+    }
+
+    /**
+     * Expires the timeouts of the current round and counts down the rounds of the others.
+     */
+    void expire(final long currentTime) {
+        Timeout timeout = this.head;
+        while (timeout != null) {
+            if (timeout.isCancelled()) {
+                timeout = this.remove(timeout);
+            } else if (timeout.remainingRounds <= 0) {
+                final Timeout next = this.remove(timeout);
+                if (!timeout.doTick(currentTime)) {
+                    throw new IllegalStateException(String.format("Timeout reached at %d expired early at %d.", timeout.getReached(), currentTime));
+                }
+                timeout = next;
+            } else {
+                timeout.remainingRounds--;
+                timeout = timeout.next;
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package net.cryptic_game.backend.base.timeout;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import net.cryptic_game.backend.base.config.Config;
+import org.springframework.beans.factory.annotation.Value;
+
+@Config
+@Getter(AccessLevel.PACKAGE)
+class TimeoutConfig {
+
+    /**
+     * Duration of one tick of the timing wheel in milliseconds, timeouts expire up to one tick late.
+     */
+    @Value("${TIMEOUT_TICK_DURATION:100}")
+    private long tickDuration;
+
+    /**
+     * Number of buckets of the timing wheel, rounded up to a power of two.
+     */
+    @Value("${TIMEOUT_WHEEL_SIZE:512}")
+    private int wheelSize;
+
+    /**
+     * Number of threads running the expired tasks, {@code 0} runs them on the thread of the timing wheel.
+     */
+    @Value("${TIMEOUT_THREADS:2}")
+    private int threads;
+}
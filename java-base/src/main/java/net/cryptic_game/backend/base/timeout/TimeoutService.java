@@ -0,0 +1,218 @@
+package net.cryptic_game.backend.base.timeout;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Schedules timeouts on a hashed timing wheel, so scheduling and cancelling is constant time regardless of the number of timeouts.
+ * One thread advances the wheel every tick and hands the expired tasks to the executor,
+ * it is only started with the first timeout, so applications which never schedule one do not pay for it.
+ */
+@Slf4j
+@Service
+public class TimeoutService {
+
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final long tickDuration;
+    private final TimeoutBucket[] wheel;
+    private final int mask;
+    private final Queue<Timeout> scheduled;
+    private final Queue<Timeout> cancelled;
+    private final AtomicLong pending;
+    private final ExecutorService executorService;
+    private final Executor executor;
+    private final Thread thread;
+    private final long startTime;
+    private final AtomicBoolean started;
+
+    private volatile boolean running;
+    private long tick;
+
+    public TimeoutService(final TimeoutConfig config) {
+        if (config.getTickDuration() <= 0) throw new IllegalArgumentException("The tick duration has to be positive.");
+        if (config.getWheelSize() <= 0 || config.getWheelSize() > 1 << 30) throw new IllegalArgumentException("The wheel size is out of range.");
+
+        this.tickDuration = TimeUnit.MILLISECONDS.toNanos(config.getTickDuration());
+        this.wheel = new TimeoutBucket[normalizeWheelSize(config.getWheelSize())];
+        for (int i = 0; i < this.wheel.length; i++) this.wheel[i] = new TimeoutBucket();
+        this.mask = this.wheel.length - 1;
+        this.scheduled = new ConcurrentLinkedQueue<>();
+        this.cancelled = new ConcurrentLinkedQueue<>();
+        this.pending = Metrics.gauge("timeout.pending", new AtomicLong());
+
+        if (config.getThreads() > 0) {
+            this.executorService = createExecutor(config.getThreads());
+            this.executor = this.executorService;
+        } else {
+            this.executorService = null;
+            this.executor = Runnable::run;
+        }
+
+        this.thread = new Thread(this::run, "timeout-wheel");
+        this.thread.setDaemon(true);
+        this.startTime = System.nanoTime();
+        this.started = new AtomicBoolean();
+    }
+
+    /**
+     * Schedules a task, which runs at the earliest after the delay and at the latest one tick later.
+     *
+     * @return the timeout, which can be used to cancel the task
+     */
+    public Timeout schedule(final Duration delay, final Runnable task) {
+        return this.schedule(delay.toNanos(), TimeUnit.NANOSECONDS, task);
+    }
+
+    public Timeout schedule(final long delay, final TimeUnit unit, final Runnable task) {
+        final long reached = System.nanoTime() - this.startTime + Math.max(unit.toNanos(delay), 0);
+        final Timeout timeout = new Timeout(this, reached, task);
+        this.pending.incrementAndGet();
+        this.scheduled.add(timeout);
+        if (!this.started.get() && this.started.compareAndSet(false, true)) this.start();
+        return timeout;
+    }
+
+    /**
+     * @return the number of timeouts, which are neither expired nor cancelled
+     */
+    public long getPending() {
+        return this.pending.get();
+    }
+
+    void cancelled(final Timeout timeout) {
+        this.pending.decrementAndGet();
+        this.cancelled.add(timeout);
+    }
+
+    void expired(final Runnable task) {
+        this.pending.decrementAndGet();
+        try {
+            this.executor.execute(() -> {
+                try {
+                    task.run();
+                } catch (Throwable e) {
+                    log.error("An error occurred while running a timeout.", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Unable to run a timeout, because the executor was shut down.");
+        }
+    }
+
+    private void run() {
+        while (this.running) {
+            final long currentTime = this.waitForNextTick();
+            if (currentTime < 0) continue;
+
+            this.removeCancelled();
+            this.transferScheduled();
+            try {
+                this.wheel[(int) (this.tick & this.mask)].expire(currentTime);
+            } catch (Throwable e) {
+                log.error("An error occurred while expiring the timeouts of tick {}.", this.tick, e);
+            }
+            this.tick++;
+        }
+    }
+
+    /**
+     * @return the time of the tick in nanoseconds since the start, or {@code -1} if the thread was interrupted
+     */
+    private long waitForNextTick() {
+        final long deadline = this.tickDuration * (this.tick + 1);
+        while (true) {
+            final long currentTime = System.nanoTime() - this.startTime;
+            final long sleep = TimeUnit.NANOSECONDS.toMillis(deadline - currentTime + 999_999);
+            if (sleep <= 0) return currentTime;
+
+            try {
+                Thread.sleep(sleep);
+            } catch (InterruptedException e) {
+                return -1;
+            }
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = this.cancelled.poll()) != null) {
+            // timeouts still waiting to be transferred are skipped by the transfer
+            if (timeout.bucket != null) timeout.bucket.remove(timeout);
+        }
+    }
+
+    /**
+     * Moves the newly scheduled timeouts into their buckets, at most {@value MAX_TRANSFERS_PER_TICK} per tick so a burst can not stall the wheel.
+     */
+    private void transferScheduled() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            final Timeout timeout = this.scheduled.poll();
+            if (timeout == null) break;
+            if (timeout.isCancelled()) continue;
+
+            final long calculated = timeout.getReached() / this.tickDuration;
+            timeout.remainingRounds = (calculated - this.tick) / this.wheel.length;
+
+            // timeouts which should have expired already are expired with the current tick
+            final long ticks = Math.max(calculated, this.tick);
+            this.wheel[(int) (ticks & this.mask)].add(timeout);
+        }
+    }
+
+    private static int normalizeWheelSize(final int wheelSize) {
+        int normalized = 1;
+        while (normalized < wheelSize) normalized <<= 1;
+        return normalized;
+    }
+
+    private static ExecutorService createExecutor(final int threads) {
+        final AtomicInteger threadCount = new AtomicInteger();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, "timeout-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+
+        new ExecutorServiceMetrics(executor, "timeout", Tags.empty()).bindTo(Metrics.globalRegistry);
+        return executor;
+    }
+
+    private void start() {
+        // the wheel starts at the current tick instead of catching up with the ticks since the creation
+        this.tick = (System.nanoTime() - this.startTime) / this.tickDuration;
+        this.running = true;
+        this.thread.start();
+        log.info("Started timing wheel with {} buckets and a tick of {}ms.", this.wheel.length, TimeUnit.NANOSECONDS.toMillis(this.tickDuration));
+    }
+
+    @PreDestroy
+    private void stop() throws InterruptedException {
+        this.running = false;
+        // also keeps the thread from being started afterwards
+        if (!this.started.compareAndSet(false, true)) {
+            this.thread.interrupt();
+            this.thread.join();
+        }
+        if (this.executorService != null) this.executorService.shutdown();
+    }
+}
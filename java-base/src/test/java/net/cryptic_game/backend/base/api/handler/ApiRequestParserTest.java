@@ -0,0 +1,171 @@
+package net.cryptic_game.backend.base.api.handler;
+
+import com.google.gson.JsonParseException;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ApiRequestParserTest {
+
+    private static ByteBuf buffer(final String json) {
+        return Unpooled.copiedBuffer(json, StandardCharsets.UTF_8);
+    }
+
+    private static String string(final ByteBuf value) {
+        return value.toString(StandardCharsets.UTF_8);
+    }
+
+    private static void assertValid(final String json) {
+        assertDoesNotThrow(() -> ApiRequestParser.validate(buffer(json)), json);
+    }
+
+    private static void assertInvalid(final String json) {
+        assertThrows(JsonParseException.class, () -> ApiRequestParser.validate(buffer(json)), json);
+    }
+
+    @Test
+    void readObject() {
+        final Map<String, ByteBuf> fields = ApiRequestParser.readObject(buffer(" {\"tag\" : \"a\", \"data\": {\"x\": [1, 2]}, \"n\": null} "));
+
+        assertEquals(3, fields.size());
+        assertEquals("\"a\"", string(fields.get("tag")));
+        assertEquals("{\"x\": [1, 2]}", string(fields.get("data")));
+        assertEquals("null", string(fields.get("n")));
+    }
+
+    @Test
+    void readArray() {
+        final List<ByteBuf> elements = ApiRequestParser.readArray(buffer("[{\"a\": 1}, \"b\", 3.5e-1, true]"));
+
+        assertEquals(4, elements.size());
+        assertEquals("{\"a\": 1}", string(elements.get(0)));
+        assertEquals("\"b\"", string(elements.get(1)));
+        assertEquals("3.5e-1", string(elements.get(2)));
+        assertEquals("true", string(elements.get(3)));
+    }
+
+    @Test
+    void emptyContainers() {
+        assertTrue(ApiRequestParser.readObject(buffer("{}")).isEmpty());
+        assertTrue(ApiRequestParser.readObject(buffer("{ \n\t}")).isEmpty());
+        assertTrue(ApiRequestParser.readArray(buffer("[]")).isEmpty());
+        assertTrue(ApiRequestParser.readArray(buffer("[ ]")).isEmpty());
+        assertValid("{\"a\": {}, \"b\": []}");
+
+        assertThrows(JsonParseException.class, () -> ApiRequestParser.readObject(buffer("{,}")));
+        assertThrows(JsonParseException.class, () -> ApiRequestParser.readArray(buffer("[,]")));
+        assertThrows(JsonParseException.class, () -> ApiRequestParser.readArray(buffer("[1,]")));
+    }
+
+    @Test
+    void duplicateKeys() {
+        final Map<String, ByteBuf> fields = ApiRequestParser.readObject(buffer("{\"a\": 1, \"a\": 2}"));
+
+        assertEquals(1, fields.size());
+        assertEquals("2", string(fields.get("a")));
+    }
+
+    @Test
+    void escapedKeys() {
+        final Map<String, ByteBuf> fields = ApiRequestParser.readObject(buffer("{\"user\\u005fid\": 1}"));
+
+        assertEquals("1", string(fields.get("user_id")));
+    }
+
+    @Test
+    void escapes() {
+        assertEquals("a\"b\\c/d\n\u00e9", ApiRequestParser.readString(buffer("\"a\\\"b\\\\c\\/d\\n\\u00E9\"")));
+        assertEquals("plain", ApiRequestParser.readString(buffer("\"plain\"")));
+        assertValid("\"\\b\\f\\n\\r\\t\\u0000\"");
+
+        assertInvalid("\"\\x\"");
+        assertInvalid("\"\\u12\"");
+        assertInvalid("\"\\u12g4\"");
+        assertInvalid("\"unterminated\\\"");
+        assertInvalid("\"tab\tinside\"");
+    }
+
+    @Test
+    void readString() {
+        assertNull(ApiRequestParser.readString(null));
+        assertNull(ApiRequestParser.readString(buffer("null")));
+        assertEquals("12", ApiRequestParser.readString(buffer("12")));
+        assertThrows(JsonParseException.class, () -> ApiRequestParser.readString(buffer("{}")));
+        assertEquals(List.of("a", "b"), ApiRequestParser.readStrings(buffer("[\"a\", \"b\"]")));
+        assertThrows(JsonParseException.class, () -> ApiRequestParser.readStrings(buffer("[\"a\", null]")));
+    }
+
+    @Test
+    void numbers() {
+        assertValid("0");
+        assertValid("-0");
+        assertValid("12");
+        assertValid("-1.5");
+        assertValid("1e10");
+        assertValid("1E+2");
+        assertValid("0.25e-3");
+
+        assertInvalid("01");
+        assertInvalid("-");
+        assertInvalid("1.");
+        assertInvalid(".5");
+        assertInvalid("1e");
+        assertInvalid("+1");
+        assertInvalid("0x10");
+    }
+
+    @Test
+    void literals() {
+        assertValid("true");
+        assertValid("false");
+        assertValid("null");
+
+        assertInvalid("tru");
+        assertInvalid("nul");
+        assertInvalid("True");
+    }
+
+    @Test
+    void trailingGarbage() {
+        assertValid("{\"a\": 1} \n");
+
+        assertInvalid("{\"a\": 1} x");
+        assertInvalid("{\"a\": 1}}");
+        assertInvalid("[1] [2]");
+        assertInvalid("1 2");
+        assertThrows(JsonParseException.class, () -> ApiRequestParser.readObject(buffer("{\"a\": 1},")));
+        assertThrows(JsonParseException.class, () -> ApiRequestParser.readArray(buffer("[1]]")));
+    }
+
+    @Test
+    void malformedContainers() {
+        assertInvalid("{\"a\" 1}");
+        assertInvalid("{a: 1}");
+        assertInvalid("{\"a\": 1");
+        assertInvalid("[1 2]");
+        assertInvalid("[1, 2");
+        assertInvalid("");
+    }
+
+    @Test
+    void nesting() {
+        assertValid("[".repeat(64) + "]".repeat(64));
+        assertValid("{\"a\":".repeat(63) + "{}" + "}".repeat(63));
+
+        assertInvalid("[".repeat(65) + "]".repeat(65));
+        assertInvalid("{\"a\":".repeat(64) + "{}" + "}".repeat(64));
+        assertThrows(JsonParseException.class, () -> ApiRequestParser.readArray(buffer("[".repeat(65) + "]".repeat(65))));
+        // a frame full of brackets fails with a syntax error instead of overflowing the stack
+        assertInvalid("[".repeat(64 * 1024));
+    }
+}
@@ -7,6 +7,7 @@ import net.cryptic_game.backend.base.api.annotations.ApiEndpointCollection;
 import net.cryptic_game.backend.base.api.annotations.ApiParameter;
 import net.cryptic_game.backend.base.api.data.ApiParameterType;
 import net.cryptic_game.backend.base.api.data.ApiResponse;
+import net.cryptic_game.backend.base.api.data.ApiSchedulerType;
 import net.cryptic_game.backend.base.api.data.ApiType;
 import net.cryptic_game.backend.data.sql.entities.user.User;
 import net.cryptic_game.backend.data.sql.entities.user.UserSetting;
@@ -16,7 +17,12 @@ import net.cryptic_game.backend.data.sql.repositories.user.UserSettingRepository
 import java.util.UUID;
 
 @RequiredArgsConstructor
-@ApiEndpointCollection(id = "settings", description = "Save, update or delete user settings", type = ApiType.REST)
+@ApiEndpointCollection(
+        id = "settings",
+        description = "Save, update or delete user settings",
+        type = ApiType.REST,
+        scheduler = ApiSchedulerType.BOUNDED_ELASTIC
+)
 public final class UserSettingsEndpoints {
 
     private final UserRepository userRepository;
@@ -3,11 +3,14 @@ package net.cryptic_game.backend.endpoints.chat;
 import com.google.gson.JsonObject;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import lombok.RequiredArgsConstructor;
+import net.cryptic_game.backend.base.api.annotations.ApiCache;
 import net.cryptic_game.backend.base.api.annotations.ApiEndpoint;
 import net.cryptic_game.backend.base.api.annotations.ApiEndpointCollection;
 import net.cryptic_game.backend.base.api.annotations.ApiParameter;
+import net.cryptic_game.backend.base.api.cache.ApiResponseCaches;
 import net.cryptic_game.backend.base.api.data.ApiParameterType;
 import net.cryptic_game.backend.base.api.data.ApiResponse;
+import net.cryptic_game.backend.base.api.data.ApiSchedulerType;
 import net.cryptic_game.backend.base.api.data.ApiType;
 import net.cryptic_game.backend.base.json.JsonBuilder;
 import net.cryptic_game.backend.data.sql.entities.chat.ChatAction;
@@ -24,7 +27,12 @@ import java.util.List;
 import java.util.UUID;
 
 @RequiredArgsConstructor
-@ApiEndpointCollection(id = "chat/channel", description = "join/leave/create/rename a channel. Get information/members", type = ApiType.REST)
+@ApiEndpointCollection(
+        id = "chat/channel",
+        description = "join/leave/create/rename a channel. Get information/members",
+        type = ApiType.REST,
+        scheduler = ApiSchedulerType.DEDICATED
+)
 public final class ChatChannelEndpoints {
 
     private final NotificationService notificationService;
@@ -42,6 +50,7 @@ public final class ChatChannelEndpoints {
 
         final ChatChannel newChannel = this.channelRepository.create(channelName);
         this.channelAccessRepository.create(this.userRepository.findById(userId).orElse(null), newChannel);
+        ApiResponseCaches.invalidateAll("chat/channel/list");
         return new ApiResponse(HttpResponseStatus.OK, newChannel);
     }
 
@@ -68,6 +77,8 @@ public final class ChatChannelEndpoints {
 
         channel.setName(newName);
         this.channelRepository.save(channel);
+        ApiResponseCaches.invalidate("chat/channel/info", channel.getId());
+        ApiResponseCaches.invalidateAll("chat/channel/list");
 
         members.stream()
                 .filter(member -> !member.equals(user))
@@ -79,7 +90,7 @@ public final class ChatChannelEndpoints {
         return new ApiResponse(HttpResponseStatus.OK, channel);
     }
 
-    @ApiEndpoint(id = "info")
+    @ApiEndpoint(id = "info", cache = @ApiCache(ttl = 30, key = "channel_id"), singleFlight = true)
     public ApiResponse info(@ApiParameter(id = "channel_id") final UUID channelId) {
         final ChatChannel channel = this.channelRepository.findById(channelId).orElse(null);
 
@@ -165,12 +176,18 @@ public final class ChatChannelEndpoints {
             this.channelAccessRepository.deleteAllByChannel(channel);
             this.messageRepository.deleteAllByChannel(channel);
             this.channelRepository.delete(channel);
+            ApiResponseCaches.invalidate("chat/channel/info", channel.getId());
+            ApiResponseCaches.invalidateAll("chat/channel/list");
         }
 
         return new ApiResponse(HttpResponseStatus.OK);
     }
 
-    @ApiEndpoint(id = "list")
+    /**
+     * Only the public list is cached, it is the same for every user. Invalidation only reaches the caches of this daemon,
+     * so the short ttl bounds how long other instances serve a stale list.
+     */
+    @ApiEndpoint(id = "list", cache = @ApiCache(ttl = 5, condition = "public"))
     public ApiResponse list(@ApiParameter(id = "user_id", type = ApiParameterType.USER) final UUID userId,
                             @ApiParameter(id = "public", required = false) final boolean isPublic) {
         if (isPublic) {
@@ -8,6 +8,7 @@ import net.cryptic_game.backend.base.api.annotations.ApiEndpointCollection;
 import net.cryptic_game.backend.base.api.annotations.ApiParameter;
 import net.cryptic_game.backend.base.api.data.ApiParameterType;
 import net.cryptic_game.backend.base.api.data.ApiResponse;
+import net.cryptic_game.backend.base.api.data.ApiSchedulerType;
 import net.cryptic_game.backend.base.api.data.ApiType;
 import net.cryptic_game.backend.base.json.JsonBuilder;
 import net.cryptic_game.backend.data.sql.entities.chat.ChatAction;
@@ -25,7 +26,12 @@ import java.util.List;
 import java.util.UUID;
 
 @RequiredArgsConstructor
-@ApiEndpointCollection(id = "chat/message", description = "send/whisper/delete/list messages", type = ApiType.REST)
+@ApiEndpointCollection(
+        id = "chat/message",
+        description = "send/whisper/delete/list messages",
+        type = ApiType.REST,
+        scheduler = ApiSchedulerType.DEDICATED
+)
 public final class ChatMessageEndpoint {
 
     private final NotificationService notificationService;
@@ -2,12 +2,16 @@ package net.cryptic_game.backend.endpoints.network;
 
 import io.netty.handler.codec.http.HttpResponseStatus;
 import lombok.RequiredArgsConstructor;
+import net.cryptic_game.backend.base.api.annotations.ApiCache;
 import net.cryptic_game.backend.base.api.annotations.ApiEndpoint;
 import net.cryptic_game.backend.base.api.annotations.ApiEndpointCollection;
 import net.cryptic_game.backend.base.api.annotations.ApiParameter;
+import net.cryptic_game.backend.base.api.cache.ApiResponseCaches;
 import net.cryptic_game.backend.base.api.data.ApiParameterType;
 import net.cryptic_game.backend.base.api.data.ApiResponse;
+import net.cryptic_game.backend.base.api.data.ApiSchedulerType;
 import net.cryptic_game.backend.base.api.data.ApiType;
+import net.cryptic_game.backend.base.jpa.JpaStreams;
 import net.cryptic_game.backend.data.sql.entities.device.Device;
 import net.cryptic_game.backend.data.sql.entities.network.Network;
 import net.cryptic_game.backend.data.sql.entities.user.User;
@@ -20,16 +24,18 @@ import net.cryptic_game.backend.data.sql.repositories.user.UserRepository;
 import java.util.UUID;
 
 @RequiredArgsConstructor
-@ApiEndpointCollection(id = "network", type = ApiType.REST)
+@ApiEndpointCollection(id = "network", type = ApiType.REST, scheduler = ApiSchedulerType.DEDICATED)
 public final class NetworkEndpoints {
 
+    private static final int MEMBERS_PAGE_SIZE = 100;
+
     private final NetworkRepository networkRepository;
     private final NetworkMemberRepository networkMemberRepository;
     private final UserRepository userRepository;
     private final DeviceRepository deviceRepository;
     private final DeviceAccessRepository deviceAccessRepository;
 
-    @ApiEndpoint(id = "get")
+    @ApiEndpoint(id = "get", singleFlight = true)
     public ApiResponse get(@ApiParameter(id = "network_id", required = false) final UUID networkId,
                            @ApiParameter(id = "name", required = false) final String name) {
         if (networkId == null && name == null) {
@@ -44,7 +50,7 @@ public final class NetworkEndpoints {
         return new ApiResponse(HttpResponseStatus.OK, network);
     }
 
-    @ApiEndpoint(id = "public")
+    @ApiEndpoint(id = "public", cache = @ApiCache(ttl = 30), singleFlight = true)
     public ApiResponse getPublic() {
         return new ApiResponse(HttpResponseStatus.OK, this.networkRepository.findAllByIsPublicTrue());
     }
@@ -79,6 +85,7 @@ public final class NetworkEndpoints {
 
         final Network network = this.networkRepository.create(name, device, isPublic);
         this.networkMemberRepository.create(network, device);
+        if (isPublic) ApiResponseCaches.invalidateAll("network/public");
         return new ApiResponse(HttpResponseStatus.OK, network);
     }
 
@@ -90,7 +97,8 @@ public final class NetworkEndpoints {
             return new ApiResponse(HttpResponseStatus.NOT_FOUND, "NETWORK");
         }
 
-        return new ApiResponse(HttpResponseStatus.OK, this.networkMemberRepository.findAllByKeyNetwork(network));
+        return new ApiResponse(HttpResponseStatus.OK, JpaStreams.paged(
+                pageable -> this.networkMemberRepository.findAllByNetworkOrderByDeviceAsc(network, pageable), MEMBERS_PAGE_SIZE));
     }
 
     @ApiEndpoint(id = "list")
@@ -111,6 +119,6 @@ public final class NetworkEndpoints {
             return new ApiResponse(HttpResponseStatus.FORBIDDEN, "DEVICE_NOT_ONLINE");
         }
 
-        return new ApiResponse(HttpResponseStatus.OK, this.networkMemberRepository.findAllByKeyDevice(device));
+        return new ApiResponse(HttpResponseStatus.OK, this.networkMemberRepository.findAllByDevice(device));
     }
 }
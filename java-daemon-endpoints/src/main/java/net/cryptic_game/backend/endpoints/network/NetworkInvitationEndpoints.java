@@ -7,6 +7,7 @@ import net.cryptic_game.backend.base.api.annotations.ApiEndpointCollection;
 import net.cryptic_game.backend.base.api.annotations.ApiParameter;
 import net.cryptic_game.backend.base.api.data.ApiParameterType;
 import net.cryptic_game.backend.base.api.data.ApiResponse;
+import net.cryptic_game.backend.base.api.data.ApiSchedulerType;
 import net.cryptic_game.backend.base.api.data.ApiType;
 import net.cryptic_game.backend.data.sql.entities.device.Device;
 import net.cryptic_game.backend.data.sql.entities.network.Network;
@@ -22,7 +23,7 @@ import net.cryptic_game.backend.data.sql.repositories.user.UserRepository;
 import java.util.UUID;
 
 @RequiredArgsConstructor
-@ApiEndpointCollection(id = "network/invitation", type = ApiType.REST)
+@ApiEndpointCollection(id = "network/invitation", type = ApiType.REST, scheduler = ApiSchedulerType.DEDICATED)
 public final class NetworkInvitationEndpoints {
 
     private final UserRepository userRepository;
@@ -182,7 +183,7 @@ public final class NetworkInvitationEndpoints {
             return new ApiResponse(HttpResponseStatus.NOT_FOUND, "DEVICE_NOT_FOUND");
         }
 
-        if (this.networkMemberRepository.findByKeyDeviceAndKeyNetwork(device, network).isPresent()) {
+        if (this.networkMemberRepository.findByDeviceAndNetwork(device, network).isPresent()) {
             return new ApiResponse(HttpResponseStatus.FORBIDDEN, "ALREADY_MEMBER_OF_NETWORK");
         }
 
@@ -221,7 +222,7 @@ public final class NetworkInvitationEndpoints {
             return new ApiResponse(HttpResponseStatus.FORBIDDEN, "NETWORK");
         }
 
-        if (this.networkMemberRepository.findByKeyDeviceAndKeyNetwork(device, network).isPresent()) {
+        if (this.networkMemberRepository.findByDeviceAndNetwork(device, network).isPresent()) {
             return new ApiResponse(HttpResponseStatus.FORBIDDEN, "ALREADY_MEMBER_OF_NETWORK");
         }
 
@@ -7,6 +7,7 @@ import net.cryptic_game.backend.base.api.annotations.ApiEndpointCollection;
 import net.cryptic_game.backend.base.api.annotations.ApiParameter;
 import net.cryptic_game.backend.base.api.data.ApiParameterType;
 import net.cryptic_game.backend.base.api.data.ApiResponse;
+import net.cryptic_game.backend.base.api.data.ApiSchedulerType;
 import net.cryptic_game.backend.base.api.data.ApiType;
 import net.cryptic_game.backend.data.sql.entities.device.Device;
 import net.cryptic_game.backend.data.sql.entities.network.Network;
@@ -22,7 +23,7 @@ import net.cryptic_game.backend.data.sql.repositories.user.UserRepository;
 import java.util.UUID;
 
 @RequiredArgsConstructor
-@ApiEndpointCollection(id = "network/member", type = ApiType.REST)
+@ApiEndpointCollection(id = "network/member", type = ApiType.REST, scheduler = ApiSchedulerType.DEDICATED)
 public final class NetworkMemberEndpoints {
 
     private final UserRepository userRepository;
@@ -50,7 +51,7 @@ public final class NetworkMemberEndpoints {
             return new ApiResponse(HttpResponseStatus.FORBIDDEN, "DEVICE_NOT_ONLINE");
         }
 
-        return new ApiResponse(HttpResponseStatus.OK, this.networkMemberRepository.findAllByKeyDevice(device));
+        return new ApiResponse(HttpResponseStatus.OK, this.networkMemberRepository.findAllByDevice(device));
     }
 
     @ApiEndpoint(id = "invitations")
@@ -71,7 +72,7 @@ public final class NetworkMemberEndpoints {
             return new ApiResponse(HttpResponseStatus.FORBIDDEN, "DEVICE_NOT_ONLINE");
         }
 
-        return new ApiResponse(HttpResponseStatus.OK, this.networkInvitationRepository.findAllByKeyDevice(device));
+        return new ApiResponse(HttpResponseStatus.OK, this.networkInvitationRepository.findAllByDevice(device));
     }
 
     @ApiEndpoint(id = "leave")
@@ -102,7 +103,7 @@ public final class NetworkMemberEndpoints {
             return new ApiResponse(HttpResponseStatus.UNAUTHORIZED, "CAN_NOT_LEAVE_OWN_NETWORK");
         }
 
-        final NetworkMember member = this.networkMemberRepository.findByKeyDeviceAndKeyNetwork(device, network).orElse(null);
+        final NetworkMember member = this.networkMemberRepository.findByDeviceAndNetwork(device, network).orElse(null);
         if (member == null) {
             return new ApiResponse(HttpResponseStatus.NOT_FOUND, "MEMBER");
         }
@@ -5,8 +5,10 @@ import lombok.RequiredArgsConstructor;
 import net.cryptic_game.backend.base.api.annotations.ApiEndpoint;
 import net.cryptic_game.backend.base.api.annotations.ApiEndpointCollection;
 import net.cryptic_game.backend.base.api.annotations.ApiParameter;
+import net.cryptic_game.backend.base.api.cache.ApiResponseCaches;
 import net.cryptic_game.backend.base.api.data.ApiParameterType;
 import net.cryptic_game.backend.base.api.data.ApiResponse;
+import net.cryptic_game.backend.base.api.data.ApiSchedulerType;
 import net.cryptic_game.backend.base.api.data.ApiType;
 import net.cryptic_game.backend.data.sql.entities.device.Device;
 import net.cryptic_game.backend.data.sql.entities.network.Network;
@@ -22,7 +24,7 @@ import net.cryptic_game.backend.data.sql.repositories.user.UserRepository;
 import java.util.UUID;
 
 @RequiredArgsConstructor
-@ApiEndpointCollection(id = "network/owner", type = ApiType.REST)
+@ApiEndpointCollection(id = "network/owner", type = ApiType.REST, scheduler = ApiSchedulerType.DEDICATED)
 public final class NetworkOwnerEndpoints {
 
     private final UserRepository userRepository;
@@ -102,7 +104,7 @@ public final class NetworkOwnerEndpoints {
             return new ApiResponse(HttpResponseStatus.NOT_FOUND, "DEVICE");
         }
 
-        final NetworkMember networkMember = this.networkMemberRepository.findByKeyDeviceAndKeyNetwork(device, network).orElse(null);
+        final NetworkMember networkMember = this.networkMemberRepository.findByDeviceAndNetwork(device, network).orElse(null);
 
         if (networkMember == null) {
             return new ApiResponse(HttpResponseStatus.NOT_FOUND, "MEMBER");
@@ -130,9 +132,10 @@ public final class NetworkOwnerEndpoints {
             return new ApiResponse(HttpResponseStatus.FORBIDDEN, "DEVICE_NOT_ONLINE");
         }
 
-        this.networkMemberRepository.deleteAllByKeyNetwork(network);
-        this.networkInvitationRepository.deleteAllByKeyNetwork(network);
+        this.networkMemberRepository.deleteAllByNetwork(network);
+        this.networkInvitationRepository.deleteAllByNetwork(network);
         this.networkRepository.delete(network);
+        if (network.isPublic()) ApiResponseCaches.invalidateAll("network/public");
 
         return new ApiResponse(HttpResponseStatus.OK);
     }
@@ -2,6 +2,7 @@ package net.cryptic_game.backend.daemon.redis;
 
 import com.google.gson.JsonElement;
 import lombok.RequiredArgsConstructor;
+import net.cryptic_game.backend.data.redis.NotificationBuffer;
 import net.cryptic_game.backend.data.redis.entities.Notification;
 import net.cryptic_game.backend.data.redis.repositories.NotificationRepository;
 import net.cryptic_game.backend.endpoints.NotificationService;
@@ -17,8 +18,10 @@ public class NotificationServiceImpl implements NotificationService {
     private static final String TOPIC = "notifications";
     private final StringRedisTemplate redisTemplate;
     private final NotificationRepository notificationRepository;
+    private final NotificationBuffer notificationBuffer;
 
     public void sendNotification(final UUID userId, final String topic, final JsonElement data) {
-        this.redisTemplate.convertAndSend(TOPIC, userId + ":" + this.notificationRepository.save(new Notification(UUID.randomUUID(), topic, data.toString())).getId());
+        final Notification notification = this.notificationBuffer.append(userId, topic, data.toString());
+        this.redisTemplate.convertAndSend(TOPIC, userId + ":" + this.notificationRepository.save(notification).getId());
     }
 }
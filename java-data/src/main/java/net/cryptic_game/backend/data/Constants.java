@@ -7,6 +7,8 @@ public final class Constants {
     public static final long ACCESS_TOKEN_EXPIRE = 7 * 24 * 60 * 60; //in Seconds
     public static final long SESSION_EXPIRE = 10 * 60; //in Seconds
     public static final long NOTIFICATION_EXPIRE = 60; //in Seconds
+    public static final long RESUME_EXPIRE = 5 * 60; //in Seconds
+    public static final int NOTIFICATION_BUFFER_SIZE = 100;
     public static final int USERNAME_LENGTH = 24;
     public static final Pattern USERNAME = Pattern.compile("^[a-zA-Z0-9\\-_.]{2," + USERNAME_LENGTH + "}$");
 
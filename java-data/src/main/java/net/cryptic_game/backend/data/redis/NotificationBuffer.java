@@ -0,0 +1,89 @@
+package net.cryptic_game.backend.data.redis;
+
+import com.google.gson.JsonParseException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.cryptic_game.backend.base.json.JsonUtils;
+import net.cryptic_game.backend.data.Constants;
+import net.cryptic_game.backend.data.redis.entities.Notification;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Numbers the notifications of each user and keeps the last {@value Constants#NOTIFICATION_BUFFER_SIZE} of them,
+ * so a resumed websocket connection can receive the notifications published while it was gone.
+ * The sequence and the buffer of a user live as long as a resume token could refer to them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationBuffer {
+
+    private static final String SEQUENCE_KEY = "notification_sequence:";
+    private static final String BUFFER_KEY = "notification_buffer:";
+    private static final Duration EXPIRE = Duration.ofSeconds(Constants.RESUME_EXPIRE);
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * Assigns the next sequence of the user to a new notification and buffers it.
+     */
+    public Notification append(final UUID userId, final String topic, final String data) {
+        final Long sequence = this.redisTemplate.opsForValue().increment(SEQUENCE_KEY + userId);
+        final Notification notification = new Notification(UUID.randomUUID(), topic, data, sequence == null ? 0 : sequence);
+
+        final String key = BUFFER_KEY + userId;
+        this.redisTemplate.opsForZSet().add(key, JsonUtils.getGSON().toJson(notification), notification.getSequence());
+        this.redisTemplate.opsForZSet().removeRange(key, 0, -Constants.NOTIFICATION_BUFFER_SIZE - 1);
+        this.touch(userId);
+        return notification;
+    }
+
+    /**
+     * @return the sequence of the last notification of the user, {@code 0} if there was none
+     */
+    public long getSequence(final UUID userId) {
+        final String sequence = this.redisTemplate.opsForValue().get(SEQUENCE_KEY + userId);
+        return sequence == null ? 0 : Long.parseLong(sequence);
+    }
+
+    /**
+     * Restarts the expiry of the sequence and the buffer of the user, has to be called whenever a resume token is issued or kept alive.
+     */
+    public void touch(final UUID userId) {
+        this.redisTemplate.expire(SEQUENCE_KEY + userId, EXPIRE);
+        this.redisTemplate.expire(BUFFER_KEY + userId, EXPIRE);
+    }
+
+    /**
+     * @return the notifications of the user after the sequence in order,
+     * or nothing if some of them are not buffered anymore and the client has to reload its state
+     */
+    public Optional<List<Notification>> since(final UUID userId, final long sequence) {
+        final long current = this.getSequence(userId);
+        if (sequence >= current) return Optional.of(Collections.emptyList());
+
+        final Set<String> entries = this.redisTemplate.opsForZSet().rangeByScore(BUFFER_KEY + userId, sequence + 1, Double.POSITIVE_INFINITY);
+        if (entries == null || entries.isEmpty()) return Optional.empty();
+
+        final List<Notification> notifications = new ArrayList<>(entries.size());
+        for (final String entry : entries) {
+            try {
+                notifications.add(JsonUtils.getGSON().fromJson(entry, Notification.class));
+            } catch (JsonParseException e) {
+                log.warn("Invalid notification in the buffer of user {}.", userId, e);
+                return Optional.empty();
+            }
+        }
+
+        return notifications.get(0).getSequence() == sequence + 1 ? Optional.of(notifications) : Optional.empty();
+    }
+}
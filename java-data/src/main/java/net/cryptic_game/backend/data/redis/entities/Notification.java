@@ -21,4 +21,9 @@ public class Notification {
     private UUID id;
     private String topic;
     private String data;
+
+    /**
+     * Position of the notification among the notifications of its user, used to replay missed notifications on resume.
+     */
+    private long sequence;
 }
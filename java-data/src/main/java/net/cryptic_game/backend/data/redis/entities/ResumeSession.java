@@ -0,0 +1,27 @@
+package net.cryptic_game.backend.data.redis.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import net.cryptic_game.backend.data.Constants;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.redis.core.RedisHash;
+
+import java.util.UUID;
+
+/**
+ * Entity representing a single-use token, which restores the login of a websocket connection after a reconnect.
+ * The expiry starts again every time it is saved.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@RedisHash(value = "resume_session", timeToLive = Constants.RESUME_EXPIRE)
+public final class ResumeSession {
+
+    @Id
+    private UUID id;
+    private UUID userId;
+}
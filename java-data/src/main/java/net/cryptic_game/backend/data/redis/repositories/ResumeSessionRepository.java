@@ -0,0 +1,15 @@
+package net.cryptic_game.backend.data.redis.repositories;
+
+import net.cryptic_game.backend.data.redis.entities.ResumeSession;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface ResumeSessionRepository extends CrudRepository<ResumeSession, UUID> {
+
+    default ResumeSession createResumeSession(final UUID userId) {
+        return this.save(new ResumeSession(UUID.randomUUID(), userId));
+    }
+}
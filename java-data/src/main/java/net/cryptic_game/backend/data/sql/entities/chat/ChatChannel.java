@@ -5,6 +5,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import net.cryptic_game.backend.base.jpa.model.TableModelAutoId;
+import net.cryptic_game.backend.base.json.JsonCached;
+import net.cryptic_game.backend.base.json.JsonStreamable;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -21,6 +23,8 @@ import javax.persistence.Table;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "chat_channel")
+@JsonStreamable
+@JsonCached
 public final class ChatChannel extends TableModelAutoId {
 
     public static final int MAX_NAME_LENGTH = 32;
@@ -1,13 +1,12 @@
 package net.cryptic_game.backend.data.sql.entities.chat;
 
-import com.google.gson.JsonObject;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import net.cryptic_game.backend.base.jpa.model.TableModelAutoId;
-import net.cryptic_game.backend.base.json.JsonBuilder;
-import net.cryptic_game.backend.base.json.JsonSerializable;
+import net.cryptic_game.backend.base.json.JsonStreamable;
+import net.cryptic_game.backend.base.json.JsonReference;
 import net.cryptic_game.backend.data.sql.entities.user.User;
 import org.hibernate.Session;
 
@@ -30,14 +29,17 @@ import java.time.OffsetDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "chat_message")
-public final class ChatMessage extends TableModelAutoId implements JsonSerializable {
+@JsonStreamable
+public final class ChatMessage extends TableModelAutoId {
 
     public static final int MAX_MESSAGE_LENGTH = 1024;
 
+    @JsonReference
     @ManyToOne
     @JoinColumn(name = "user_id", updatable = false, nullable = false)
     private User user;
 
+    @JsonReference
     @ManyToOne
     @JoinColumn(name = "channel_id", nullable = false, updatable = false)
     private ChatChannel channel;
@@ -49,6 +51,7 @@ public final class ChatMessage extends TableModelAutoId implements JsonSerializa
     private String text;
 
     /* User ID of the target, if it is not a whisper it is null and consequently targets everyone in the channel. */
+    @JsonReference
     @OneToOne
     @JoinColumn(name = "target", updatable = false)
     private User target;
@@ -88,20 +91,4 @@ public final class ChatMessage extends TableModelAutoId implements JsonSerializa
         return null;
         //FIXME
     }
-
-    /**
-     * Generates a {@link JsonObject} containing all relevant {@link ChatMessage} information.
-     *
-     * @return The generated {@link JsonObject}
-     */
-    @Override
-    public JsonObject serialize() {
-        return JsonBuilder.create("id", this.getId())
-                .add("channel_id", this.getChannel().getId())
-                .add("user_id", this.getUser().getId())
-                .add("target_id", this.target == null ? null : this.getTarget().getId())
-                .add("text", this.getText())
-                .add("timestamp", this.timestamp)
-                .build();
-    }
 }
@@ -5,6 +5,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import net.cryptic_game.backend.base.jpa.model.TableModelAutoId;
+import net.cryptic_game.backend.base.json.JsonStreamable;
 import net.cryptic_game.backend.base.json.JsonTransient;
 
 import javax.persistence.Column;
@@ -24,6 +25,7 @@ import java.time.OffsetDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "currency_wallet")
+@JsonStreamable
 public final class CurrencyWallet extends TableModelAutoId {
 
     @Column(name = "created", updatable = false, nullable = false)
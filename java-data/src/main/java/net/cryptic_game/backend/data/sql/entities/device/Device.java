@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import net.cryptic_game.backend.base.jpa.model.TableModelAutoId;
 import net.cryptic_game.backend.base.json.JsonBuilder;
+import net.cryptic_game.backend.base.json.JsonCached;
 import net.cryptic_game.backend.base.json.JsonSerializable;
 import net.cryptic_game.backend.data.sql.entities.user.User;
 
@@ -27,6 +28,7 @@ import javax.persistence.Table;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "device_device")
+@JsonCached
 public final class Device extends TableModelAutoId implements JsonSerializable {
 
     @Column(name = "name", nullable = false)
@@ -1,13 +1,12 @@
 package net.cryptic_game.backend.data.sql.entities.device;
 
-import com.google.gson.JsonObject;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import net.cryptic_game.backend.base.jpa.model.TableModelAutoId;
-import net.cryptic_game.backend.base.json.JsonBuilder;
-import net.cryptic_game.backend.base.json.JsonSerializable;
+import net.cryptic_game.backend.base.json.JsonReference;
+import net.cryptic_game.backend.base.json.JsonStreamable;
 import net.cryptic_game.backend.data.sql.entities.user.User;
 
 import javax.persistence.Column;
@@ -28,12 +27,15 @@ import java.time.OffsetDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "device_access")
-public final class DeviceAccess extends TableModelAutoId implements JsonSerializable {
+@JsonStreamable
+public final class DeviceAccess extends TableModelAutoId {
 
+    @JsonReference
     @ManyToOne
     @JoinColumn(name = "device_id", nullable = false, updatable = false)
     private Device device;
 
+    @JsonReference
     @ManyToOne
     @JoinColumn(name = "user_id", nullable = false, updatable = false)
     private User user;
@@ -46,20 +48,4 @@ public final class DeviceAccess extends TableModelAutoId implements JsonSerializ
 
     @Column(name = "valid", nullable = false)
     private boolean valid;
-
-    /**
-     * Generates a {@link JsonObject} containing all relevant {@link DeviceAccess} information.
-     *
-     * @return The generated {@link JsonObject}
-     */
-    @Override
-    public JsonObject serialize() {
-        return JsonBuilder.create("id", this.getId())
-                .add("device_id", this.getDevice().getId())
-                .add("user_id", this.getUser().getId())
-                .add("granted", this.getGranted())
-                .add("expire", this.getExpire())
-                .add("valid", this.isValid())
-                .build();
-    }
 }
@@ -5,6 +5,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import net.cryptic_game.backend.base.jpa.model.TableModelAutoId;
+import net.cryptic_game.backend.base.json.JsonStreamable;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -16,6 +17,7 @@ import javax.persistence.Table;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "device_hardware_manufacturer")
+@JsonStreamable
 public final class DeviceHardwareManufacturer extends TableModelAutoId {
 
     @Column(name = "name", updatable = false, nullable = false)
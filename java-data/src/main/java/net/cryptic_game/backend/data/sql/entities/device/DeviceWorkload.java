@@ -1,14 +1,14 @@
 package net.cryptic_game.backend.data.sql.entities.device;
 
-import com.google.gson.JsonObject;
+import com.google.gson.annotations.SerializedName;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import net.cryptic_game.backend.base.jpa.model.TableModel;
-import net.cryptic_game.backend.base.json.JsonBuilder;
-import net.cryptic_game.backend.base.json.JsonSerializable;
+import net.cryptic_game.backend.base.json.JsonReference;
+import net.cryptic_game.backend.base.json.JsonStreamable;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -30,19 +30,24 @@ import java.io.Serializable;
 @AllArgsConstructor
 @EqualsAndHashCode
 @Table(name = "device_workload")
-public final class DeviceWorkload extends TableModel implements JsonSerializable, Serializable {
+@JsonStreamable
+public final class DeviceWorkload extends TableModel implements Serializable {
 
     @Id
+    @JsonReference
     @ManyToOne
     @JoinColumn(name = "device_id", updatable = false, nullable = false)
     private Device device;
 
+    @SerializedName("performance_cpu")
     @Column(name = "performance_cpu", nullable = false)
     private float performanceCPU;
 
+    @SerializedName("performance_gpu")
     @Column(name = "performance_gpu", nullable = false)
     private float performanceGPU;
 
+    @SerializedName("performance_ram")
     @Column(name = "performance_ram", nullable = false)
     private float performanceRAM;
 
@@ -52,12 +57,15 @@ public final class DeviceWorkload extends TableModel implements JsonSerializable
     @Column(name = "performance_network", nullable = false)
     private float performanceNetwork;
 
+    @SerializedName("usage_cpu")
     @Column(name = "usage_cpu", nullable = false)
     private float usageCPU;
 
+    @SerializedName("usage_gpu")
     @Column(name = "usage_gpu", nullable = false)
     private float usageGPU;
 
+    @SerializedName("usage_ram")
     @Column(name = "usage_ram", nullable = false)
     private float usageRAM;
 
@@ -66,25 +74,4 @@ public final class DeviceWorkload extends TableModel implements JsonSerializable
 
     @Column(name = "usage_network", nullable = false)
     private float usageNetwork;
-
-    /**
-     * Generates a {@link JsonObject} containing all relevant {@link DeviceWorkload} information.
-     *
-     * @return The generated {@link JsonObject}
-     */
-    @Override
-    public JsonObject serialize() {
-        return JsonBuilder.create("device_id", this.getDevice().getId())
-                .add("performance_cpu", this.getPerformanceCPU())
-                .add("performance_gpu", this.getPerformanceGPU())
-                .add("performance_ram", this.getPerformanceRAM())
-                .add("performance_disk", this.getPerformanceDisk())
-                .add("performance_network", this.getPerformanceNetwork())
-                .add("usage_cpu", this.getUsageCPU())
-                .add("usage_gpu", this.getUsageGPU())
-                .add("usage_ram", this.getUsageRAM())
-                .add("usage_disk", this.getUsageDisk())
-                .add("usage_network", this.getUsageNetwork())
-                .build();
-    }
 }
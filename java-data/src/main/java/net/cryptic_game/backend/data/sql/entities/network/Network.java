@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import net.cryptic_game.backend.base.jpa.model.TableModelAutoId;
 import net.cryptic_game.backend.base.json.JsonBuilder;
+import net.cryptic_game.backend.base.json.JsonCached;
 import net.cryptic_game.backend.base.json.JsonSerializable;
 import net.cryptic_game.backend.data.sql.entities.device.Device;
 
@@ -29,6 +30,7 @@ import java.time.OffsetDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "network_network")
+@JsonCached
 public final class Network extends TableModelAutoId implements JsonSerializable {
 
     @Column(name = "name", nullable = false, unique = true)
@@ -22,4 +22,15 @@ public class DisabledEndpoint extends TableModel {
     @Id
     @Column(name = "endpoint_path", unique = true, nullable = false)
     private String endpointPath;
+
+    /**
+     * {@code false} enables an endpoint, which was disabled by its annotation, its collection or its daemon.
+     * Rows written before the column existed are {@code null} and disable the endpoint.
+     */
+    @Column(name = "disabled")
+    private Boolean disabled;
+
+    public boolean isEndpointDisabled() {
+        return this.disabled == null || this.disabled;
+    }
 }
@@ -6,6 +6,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import net.cryptic_game.backend.base.jpa.model.TableModelAutoId;
+import net.cryptic_game.backend.base.json.JsonCached;
+import net.cryptic_game.backend.base.json.JsonStreamable;
 import net.cryptic_game.backend.base.json.JsonBuilder;
 import net.cryptic_game.backend.data.Constants;
 
@@ -26,6 +28,8 @@ import java.time.OffsetDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "user_user")
+@JsonStreamable
+@JsonCached
 @Cacheable
 public final class User extends TableModelAutoId {
 
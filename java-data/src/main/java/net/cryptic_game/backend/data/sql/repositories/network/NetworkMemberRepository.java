@@ -3,6 +3,8 @@ package net.cryptic_game.backend.data.sql.repositories.network;
 import net.cryptic_game.backend.data.sql.entities.device.Device;
 import net.cryptic_game.backend.data.sql.entities.network.Network;
 import net.cryptic_game.backend.data.sql.entities.network.NetworkMember;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.stereotype.Repository;
@@ -10,19 +12,18 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
 @Repository
-public interface NetworkMemberRepository extends JpaRepository<NetworkMember, UUID> {
+public interface NetworkMemberRepository extends JpaRepository<NetworkMember, NetworkMember.MemberKey> {
 
-    Optional<NetworkMember> findByKeyDeviceAndKeyNetwork(Device device, Network network);
+    Optional<NetworkMember> findByDeviceAndNetwork(Device device, Network network);
 
-    List<NetworkMember> findAllByKeyDevice(Device device);
+    List<NetworkMember> findAllByDevice(Device device);
 
-    List<NetworkMember> findAllByKeyNetwork(Network network);
+    Slice<NetworkMember> findAllByNetworkOrderByDeviceAsc(Network network, Pageable pageable);
 
     default NetworkMember create(final Network network, final Device device) {
-        NetworkMember existingMember = findByKeyDeviceAndKeyNetwork(device, network).orElse(null);
+        NetworkMember existingMember = findByDeviceAndNetwork(device, network).orElse(null);
         if (existingMember != null) return existingMember;
 
         NetworkMember networkMember = new NetworkMember();
@@ -34,5 +35,5 @@ public interface NetworkMemberRepository extends JpaRepository<NetworkMember, UU
 
     @Transactional
     @Modifying
-    void deleteAllByKeyNetwork(Network network);
+    void deleteAllByNetwork(Network network);
 }
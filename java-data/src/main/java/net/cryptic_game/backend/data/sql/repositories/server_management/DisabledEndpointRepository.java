@@ -7,7 +7,7 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface DisabledEndpointRepository extends JpaRepository<DisabledEndpoint, String> {
 
-    default DisabledEndpoint create(String path) {
-        return this.save(new DisabledEndpoint(path));
+    default DisabledEndpoint create(String path, boolean disabled) {
+        return this.save(new DisabledEndpoint(path, disabled));
     }
 }
@@ -0,0 +1,288 @@
+package net.cryptic_game.backend.processor.json;
+
+import com.google.auto.service.AutoService;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedSourceVersion;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Generates a {@code <Class>_JsonWriter} for every {@code @JsonStreamable} class, which writes the fields directly to the
+ * {@code JsonWriter}, with the same names and in the same order as Gson would do with reflection.
+ * Values are read with their getters, so Lombok entities and lazy loaded relations work as usual.
+ * The generated writers are picked up by the {@code JsonStreamWriterFactory}.
+ */
+@AutoService(Processor.class)
+@SupportedSourceVersion(SourceVersion.RELEASE_11)
+@SupportedAnnotationTypes(JsonWriterProcessor.STREAMABLE_ANNOTATION)
+public class JsonWriterProcessor extends AbstractProcessor {
+
+    static final String STREAMABLE_ANNOTATION = "net.cryptic_game.backend.base.json.JsonStreamable";
+    private static final String REFERENCE_ANNOTATION = "net.cryptic_game.backend.base.json.JsonReference";
+    private static final String TRANSIENT_ANNOTATION = "net.cryptic_game.backend.base.json.JsonTransient";
+    private static final String SERIALIZED_NAME_ANNOTATION = "com.google.gson.annotations.SerializedName";
+    private static final String LOMBOK_GETTER = "lombok.Getter";
+
+    private static final String SUFFIX = "_JsonWriter";
+    private static final String STREAM_WRITER = "net.cryptic_game.backend.base.json.JsonStreamWriter";
+    private static final String SERIALIZABLE = "net.cryptic_game.backend.base.json.JsonSerializable";
+    private static final String GSON = "com.google.gson.Gson";
+    private static final String JSON_WRITER = "com.google.gson.stream.JsonWriter";
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        annotations.stream()
+                .flatMap(annotation -> ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(annotation)).stream())
+                .filter(type -> type.getKind() == ElementKind.CLASS)
+                .forEach(this::processType);
+
+        return false;
+    }
+
+    private void processType(final TypeElement type) {
+        if (type.getEnclosingElement().getKind() != ElementKind.PACKAGE || !type.getTypeParameters().isEmpty()) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Only top level classes without type parameters can be streamed, the class is serialized with reflection.", type);
+            return;
+        }
+
+        final TypeElement serializable = this.processingEnv.getElementUtils().getTypeElement(SERIALIZABLE);
+        if (serializable != null && this.processingEnv.getTypeUtils().isAssignable(type.asType(), serializable.asType())) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "The class implements JsonSerializable, the hand-written serialize() is used instead.", type);
+            return;
+        }
+
+        final List<Property> properties = new ArrayList<>();
+        for (TypeElement current = type; current != null; current = this.superclass(current)) {
+            for (final VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                if (field.getModifiers().contains(Modifier.STATIC) || field.getModifiers().contains(Modifier.TRANSIENT)
+                        || this.findAnnotation(field, TRANSIENT_ANNOTATION) != null) continue;
+
+                final Property property = this.property(current, field);
+                if (property == null) return;
+                properties.add(property);
+            }
+        }
+
+        try {
+            this.generate(type, properties);
+        } catch (IOException e) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    String.format("Unable to generate json writer: %s", e.getMessage()), type);
+        }
+    }
+
+    private Property property(final TypeElement owner, final VariableElement field) {
+        final String getter = this.findGetter(owner, field);
+        if (getter == null) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Streamed fields need a getter or have to be annotated with @JsonTransient.", field);
+            return null;
+        }
+
+        final boolean reference = this.findAnnotation(field, REFERENCE_ANNOTATION) != null;
+        final AnnotationMirror serializedName = this.findAnnotation(field, SERIALIZED_NAME_ANNOTATION);
+        final String name = serializedName != null
+                ? (String) this.processingEnv.getElementUtils().getElementValuesWithDefaults(serializedName).entrySet().stream()
+                .filter(entry -> entry.getKey().getSimpleName().contentEquals("value"))
+                .findFirst().orElseThrow().getValue().getValue()
+                : separateCamelCase(field.getSimpleName().toString()) + (reference ? "_id" : "");
+
+        if (!reference) return new Property(name, getter, field.asType(), null);
+
+        final TypeMirror idType = field.asType().getKind() == TypeKind.DECLARED
+                ? this.findIdType((TypeElement) ((DeclaredType) field.asType()).asElement())
+                : null;
+        if (idType == null) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Referenced entities need a getId() method.", field);
+            return null;
+        }
+        return new Property(name, getter, field.asType(), idType);
+    }
+
+    private String findGetter(final TypeElement owner, final VariableElement field) {
+        final String fieldName = field.getSimpleName().toString();
+        final String getter;
+        if (field.asType().getKind() == TypeKind.BOOLEAN) {
+            getter = fieldName.startsWith("is") && fieldName.length() > 2 && Character.isUpperCase(fieldName.charAt(2))
+                    ? fieldName : "is" + capitalize(fieldName);
+        } else {
+            getter = "get" + capitalize(fieldName);
+        }
+
+        final boolean declared = ElementFilter.methodsIn(owner.getEnclosedElements()).stream()
+                .anyMatch(method -> method.getSimpleName().contentEquals(getter) && method.getParameters().isEmpty()
+                        && !method.getModifiers().contains(Modifier.PRIVATE));
+        return declared || this.findAnnotation(field, LOMBOK_GETTER) != null || this.findAnnotation(owner, LOMBOK_GETTER) != null ? getter : null;
+    }
+
+    private TypeMirror findIdType(final TypeElement type) {
+        for (TypeElement current = type; current != null; current = this.superclass(current)) {
+            for (final ExecutableElement method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                if (method.getSimpleName().contentEquals("getId") && method.getParameters().isEmpty()) return method.getReturnType();
+            }
+            for (final VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                if (field.getSimpleName().contentEquals("id") && this.findGetter(current, field) != null) return field.asType();
+            }
+        }
+        return null;
+    }
+
+    private void generate(final TypeElement type, final List<Property> properties) throws IOException {
+        final String packageName = ((PackageElement) type.getEnclosingElement()).getQualifiedName().toString();
+        final String typeName = type.getQualifiedName().toString();
+        final String className = type.getSimpleName() + SUFFIX;
+
+        try (PrintWriter writer = new PrintWriter(this.processingEnv.getFiler()
+                .createSourceFile(packageName.isEmpty() ? className : packageName + "." + className, type)
+                .openWriter())) {
+
+            if (!packageName.isEmpty()) writer.printf("package %s;%n%n", packageName);
+
+            writer.printf("@javax.annotation.processing.Generated(\"%s\")%n", JsonWriterProcessor.class.getName());
+            writer.printf("public final class %s implements %s<%s> {%n", className, STREAM_WRITER, typeName);
+            writer.printf("%n    @Override%n");
+            writer.printf("    public void write(final %s gson, final %s writer, final %s value) throws java.io.IOException {%n",
+                    GSON, JSON_WRITER, typeName);
+            writer.printf("        writer.beginObject();%n");
+
+            for (int i = 0; i < properties.size(); i++) {
+                final Property property = properties.get(i);
+                writer.printf("%n        writer.name(%s);%n", literal(property.name));
+                if (property.idType == null) {
+                    this.writeValue(writer, "value." + property.getter + "()", property.type, "        ");
+                } else {
+                    final String reference = "reference" + i;
+                    writer.printf("        final %s %s = value.%s();%n",
+                            this.processingEnv.getTypeUtils().erasure(property.type), reference, property.getter);
+                    writer.printf("        if (%s == null) writer.nullValue();%n", reference);
+                    writer.printf("        else {%n");
+                    this.writeValue(writer, reference + ".getId()", property.idType, "            ");
+                    writer.printf("        }%n");
+                }
+            }
+
+            writer.printf("%n        writer.endObject();%n");
+            writer.printf("    }%n");
+            writer.printf("}%n");
+        }
+    }
+
+    private void writeValue(final PrintWriter writer, final String value, final TypeMirror type, final String indent) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+            case INT:
+            case LONG:
+            case SHORT:
+            case BYTE:
+            case DOUBLE:
+                writer.printf("%swriter.value(%s);%n", indent, value);
+                return;
+            case FLOAT:
+                // boxed, so the value is written with Float.toString like Gson does
+                writer.printf("%swriter.value((Number) %s);%n", indent, value);
+                return;
+            case CHAR:
+                writer.printf("%swriter.value(String.valueOf(%s));%n", indent, value);
+                return;
+            default:
+                break;
+        }
+
+        switch (this.processingEnv.getTypeUtils().erasure(type).toString()) {
+            case "java.lang.String":
+            case "java.lang.Boolean":
+                writer.printf("%swriter.value(%s);%n", indent, value);
+                return;
+            case "java.util.UUID":
+                writer.printf("%s{%n", indent);
+                writer.printf("%s    final java.util.UUID uuid = %s;%n", indent, value);
+                writer.printf("%s    if (uuid == null) writer.nullValue();%n", indent);
+                writer.printf("%s    else writer.value(uuid.toString());%n", indent);
+                writer.printf("%s}%n", indent);
+                return;
+            default:
+                writer.printf("%s%s.writeObject(gson, writer, %s);%n", indent, STREAM_WRITER, value);
+        }
+    }
+
+    private TypeElement superclass(final TypeElement type) {
+        final TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) return null;
+        final TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+        return element.getQualifiedName().contentEquals(Object.class.getName()) ? null : element;
+    }
+
+    private AnnotationMirror findAnnotation(final Element element, final String annotation) {
+        for (final AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Same as Gson's {@code FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES}.
+     */
+    private static String separateCamelCase(final String name) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < name.length(); i++) {
+            final char c = name.charAt(i);
+            if (Character.isUpperCase(c) && builder.length() != 0) builder.append('_');
+            builder.append(c);
+        }
+        return builder.toString().toLowerCase(Locale.ENGLISH);
+    }
+
+    private static String capitalize(final String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static String literal(final String value) {
+        final StringBuilder builder = new StringBuilder("\"");
+        for (final char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') builder.append('\\');
+            builder.append(c);
+        }
+        return builder.append('"').toString();
+    }
+
+    private static final class Property {
+
+        private final String name;
+        private final String getter;
+        private final TypeMirror type;
+        private final TypeMirror idType;
+
+        private Property(final String name, final String getter, final TypeMirror type, final TypeMirror idType) {
+            this.name = name;
+            this.getter = getter;
+            this.type = type;
+            this.idType = idType;
+        }
+    }
+}
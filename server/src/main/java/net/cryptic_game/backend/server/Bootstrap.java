@@ -3,11 +3,10 @@ package net.cryptic_game.backend.server;
 import lombok.extern.slf4j.Slf4j;
 import net.cryptic_game.backend.base.BaseConfig;
 import net.cryptic_game.backend.base.api.DefaultApiAuthenticator;
-import net.cryptic_game.backend.base.api.data.ApiEndpointData;
 import net.cryptic_game.backend.base.api.handler.websocket.WebsocketApiInitializer;
 import net.cryptic_game.backend.base.api.handler.websocket.WebsocketApiRequest;
-import net.cryptic_game.backend.data.sql.repositories.server_management.DisabledEndpointRepository;
 import net.cryptic_game.backend.server.daemon.DaemonHandler;
+import net.cryptic_game.backend.server.redis.EndpointStateService;
 import net.cryptic_game.backend.server.server.websocket.WebSocketDaemonEndpoints;
 import net.getnova.framework.core.NovaBanner;
 import org.springframework.boot.CommandLineRunner;
@@ -16,8 +15,6 @@ import org.springframework.boot.builder.SpringApplicationBuilder;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 
-import java.util.Map;
-
 @Slf4j
 @SpringBootApplication(scanBasePackages = "net.cryptic_game.backend")
 public class Bootstrap {
@@ -32,34 +29,25 @@ public class Bootstrap {
     DaemonHandler daemonHandler(
             final BaseConfig config,
             final ApplicationContext context,
-            final DisabledEndpointRepository disabledEndpointRepository,
             final DefaultApiAuthenticator authenticator
     ) {
-        return new DaemonHandler(config.getApiToken(), context, disabledEndpointRepository, authenticator);
+        return new DaemonHandler(config.getApiToken(), context, authenticator);
     }
 
     @Bean
     CommandLineRunner runner(
             final WebsocketApiInitializer wsInitializer,
-            final DisabledEndpointRepository disabledEndpointRepository,
+            final EndpointStateService endpointStateService,
             final DaemonHandler daemonHandler
     ) {
         return args -> {
-            final Map<String, ApiEndpointData> endpoints = wsInitializer.getEndpoints();
-            daemonHandler.setEndpoints(endpoints);
-
-            // disabling endpoints that are disabled in database
-            endpoints
-                    .forEach((name, endpoint) -> {
-                        if (disabledEndpointRepository.existsById(name)) {
-                            endpoint.setDisabled(true);
-                        }
-                    });
+            daemonHandler.setEndpoints(wsInitializer.getEndpoints());
+            endpointStateService.load();
 
             try {
                 daemonHandler.setSend(new WebSocketDaemonEndpoints(),
                         WebSocketDaemonEndpoints.class.getDeclaredMethod("send", WebsocketApiRequest.class));
-            } catch (NoSuchMethodException e) {
+            } catch (NoSuchMethodException | IllegalAccessException e) {
                 log.error("Error while setting daemon endpoint handling method.", e);
             }
 
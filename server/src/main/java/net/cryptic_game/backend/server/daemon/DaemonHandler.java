@@ -1,8 +1,6 @@
 package net.cryptic_game.backend.server.daemon;
 
 import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
 import io.netty.handler.codec.http.HttpHeaderNames;
@@ -15,14 +13,15 @@ import lombok.extern.slf4j.Slf4j;
 import net.cryptic_game.backend.base.api.ApiAuthenticator;
 import net.cryptic_game.backend.base.api.annotations.ApiParameter;
 import net.cryptic_game.backend.base.api.data.ApiEndpointCollectionData;
-import net.cryptic_game.backend.base.api.data.ApiEndpointData;
+import net.cryptic_game.backend.base.api.data.ApiEndpointInvoker;
 import net.cryptic_game.backend.base.api.data.ApiParameterData;
 import net.cryptic_game.backend.base.api.data.ApiType;
+import net.cryptic_game.backend.base.api.executor.ApiEndpoints;
 import net.cryptic_game.backend.base.api.parser.ApiEndpointCollectionParser;
+import net.cryptic_game.backend.base.api.parser.ApiEndpointInvokerFactory;
 import net.cryptic_game.backend.base.daemon.Daemon;
 import net.cryptic_game.backend.base.json.JsonUtils;
 import net.cryptic_game.backend.base.utils.DaemonUtils;
-import net.cryptic_game.backend.data.sql.repositories.server_management.DisabledEndpointRepository;
 import org.springframework.boot.SpringApplication;
 import org.springframework.context.ApplicationContext;
 import reactor.core.publisher.Mono;
@@ -50,13 +49,13 @@ public final class DaemonHandler {
 
     private final String apiToken;
     private final ApplicationContext context;
-    private final DisabledEndpointRepository disabledEndpointRepository;
     private final ApiAuthenticator authenticator;
 
     @Setter
-    private Map<String, ApiEndpointData> endpoints;
+    private ApiEndpoints endpoints;
     private Object daemonSendObject;
     private Method daemonSendMethod;
+    private ApiEndpointInvoker daemonSendInvoker;
     private ApiParameterData[] daemonSendMethodParameters;
 
     public void registerDaemon(final String name, final String url) {
@@ -92,18 +91,6 @@ public final class DaemonHandler {
                         cause -> new DaemonException("unexpected json from daemon", cause))
                 .subscribe(
                         endpoints -> {
-                            // set disabled endpoints from database disabled in the json
-                            for (JsonElement endpointsObject : endpoints) {
-                                JsonArray endpointList = ((JsonObject) endpointsObject).getAsJsonArray("endpoints");
-                                for (JsonElement endpoint : endpointList) {
-                                    if (this.disabledEndpointRepository.existsById(
-                                            ((JsonObject) endpointsObject).get("id").getAsString()
-                                                    + "/"
-                                                    + ((JsonObject) endpoint).getAsJsonPrimitive("id").getAsString())) {
-                                        ((JsonObject) endpoint).addProperty("disabled", true);
-                                    }
-                                }
-                            }
                             this.addEndpointCollections(DaemonUtils.parseDaemonEndpoints(daemon, endpoints, ApiType.WEBSOCKET));
                             log.info("Successfully registered daemon {}.", daemon.getName());
                         },
@@ -136,6 +123,7 @@ public final class DaemonHandler {
                         .peek(collection -> collection.getEndpoints().forEach((name, endpoint) -> {
                             endpoint.setMethod(this.daemonSendMethod);
                             endpoint.setInstance(this.daemonSendObject);
+                            endpoint.setInvoker(this.daemonSendInvoker);
                             endpoint.setAuthenticator(this.authenticator);
                             endpoint.setParameters(this.daemonSendMethodParameters);
                         }))
@@ -148,9 +136,10 @@ public final class DaemonHandler {
                 .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
     }
 
-    public void setSend(final Object sendObject, final Method sendMethod) {
+    public void setSend(final Object sendObject, final Method sendMethod) throws IllegalAccessException {
         this.daemonSendObject = sendObject;
         this.daemonSendMethod = sendMethod;
+        this.daemonSendInvoker = ApiEndpointInvokerFactory.create(sendObject, sendMethod);
         this.daemonSendMethodParameters = parseParameters(this.daemonSendMethod.getParameters());
     }
 
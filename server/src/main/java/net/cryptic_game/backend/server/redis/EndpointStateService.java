@@ -0,0 +1,82 @@
+package net.cryptic_game.backend.server.redis;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.cryptic_game.backend.base.api.handler.websocket.WebsocketApiInitializer;
+import net.cryptic_game.backend.data.sql.entities.server_management.DisabledEndpoint;
+import net.cryptic_game.backend.data.sql.repositories.server_management.DisabledEndpointRepository;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the endpoint state overrides of all server nodes in sync.
+ * Changes are persisted in the {@link DisabledEndpointRepository} and published through pub/sub as
+ * {@code enable:<id>}, {@code disable:<id>} or {@code reset:<id>}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EndpointStateService {
+
+    static final String TOPIC = "endpoints";
+    private static final String ENABLE = "enable";
+    private static final String DISABLE = "disable";
+    private static final String RESET = "reset";
+
+    private final StringRedisTemplate redisTemplate;
+    private final DisabledEndpointRepository disabledEndpointRepository;
+    private final WebsocketApiInitializer websocketApiInitializer;
+
+    /**
+     * Loads all overrides from the database with a single query.
+     */
+    public void load() {
+        this.websocketApiInitializer.getEndpoints().setOverrides(
+                this.disabledEndpointRepository.findAll().stream()
+                        .collect(Collectors.toMap(DisabledEndpoint::getEndpointPath, DisabledEndpoint::isEndpointDisabled))
+        );
+    }
+
+    /**
+     * Overrides the state of an endpoint, which also enables endpoints disabled by their annotation, collection or daemon.
+     */
+    public void setDisabled(final String id, final boolean disabled) {
+        this.disabledEndpointRepository.create(id, disabled);
+        this.websocketApiInitializer.getEndpoints().setDisabled(id, disabled);
+        this.redisTemplate.convertAndSend(TOPIC, (disabled ? DISABLE : ENABLE) + ":" + id);
+    }
+
+    /**
+     * Removes the override of an endpoint, so its own state applies again.
+     */
+    public void reset(final String id) {
+        if (this.disabledEndpointRepository.existsById(id)) this.disabledEndpointRepository.deleteById(id);
+        this.websocketApiInitializer.getEndpoints().resetDisabled(id);
+        this.redisTemplate.convertAndSend(TOPIC, RESET + ":" + id);
+    }
+
+    public void receiveMessage(final String message) {
+        final int index = message.indexOf(':');
+        if (index == -1) {
+            log.warn("Invalid endpoint state received through pub/sub: {}", message);
+            return;
+        }
+
+        final String id = message.substring(index + 1);
+        switch (message.substring(0, index)) {
+            case ENABLE:
+                this.websocketApiInitializer.getEndpoints().setDisabled(id, false);
+                break;
+            case DISABLE:
+                this.websocketApiInitializer.getEndpoints().setDisabled(id, true);
+                break;
+            case RESET:
+                this.websocketApiInitializer.getEndpoints().resetDisabled(id);
+                break;
+            default:
+                log.warn("Invalid endpoint state received through pub/sub: {}", message);
+        }
+    }
+}
@@ -1,21 +1,22 @@
 package net.cryptic_game.backend.server.redis;
 
+import com.google.gson.JsonElement;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import net.cryptic_game.backend.base.api.codec.ApiCodec;
+import net.cryptic_game.backend.base.api.handler.ApiResponseWriter;
 import net.cryptic_game.backend.base.api.handler.websocket.WebsocketApiContext;
-import net.cryptic_game.backend.base.api.handler.websocket.WebsocketApiInitializer;
-import net.cryptic_game.backend.base.json.JsonBuilder;
+import net.cryptic_game.backend.base.api.handler.websocket.WebsocketApiContexts;
+import net.cryptic_game.backend.base.json.JsonUtils;
 import net.cryptic_game.backend.data.redis.entities.Notification;
 import net.cryptic_game.backend.data.redis.repositories.NotificationRepository;
-import net.cryptic_game.backend.data.sql.entities.user.User;
 import org.springframework.stereotype.Component;
-import reactor.core.publisher.Flux;
-import reactor.core.publisher.Mono;
 
-import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -26,9 +27,7 @@ import java.util.stream.Collectors;
 @Slf4j
 public class NotificationReceiver {
 
-    private static final Charset CHARSET = StandardCharsets.UTF_8;
-
-    private final WebsocketApiInitializer websocketApiInitializer;
+    private final WebsocketApiContexts websocketApiContexts;
     private final NotificationRepository notificationRepository;
 
     public void receiveMessage(final String message) {
@@ -39,9 +38,7 @@ public class NotificationReceiver {
 
         try {
             final UUID userId = UUID.fromString(message.substring(0, 36));
-            final Set<WebsocketApiContext> contexts = this.websocketApiInitializer.getContexts().stream()
-                    .filter(ctx -> ctx.get(User.class).map(user -> user.getId().equals(userId)).orElse(false))
-                    .collect(Collectors.toSet());
+            final Set<WebsocketApiContext> contexts = this.websocketApiContexts.getByUser(userId);
 
             if (contexts.isEmpty()) return;
 
@@ -52,25 +49,54 @@ public class NotificationReceiver {
                 return;
             }
 
+            // parsed once, so a malformed payload is dropped instead of being spliced into the frames of every subscriber
+            final JsonElement data;
+            try {
+                data = JsonParser.parseString(notification.get().getData());
+            } catch (JsonParseException e) {
+                log.warn("Invalid notification package received through pub/sub: Notification {} has invalid data", notificationId);
+                return;
+            }
 
-            notification.ifPresent(n -> {
-                try {
-                    final String notificationString = JsonBuilder
-                            .create("status", JsonBuilder.create("code", 900).add("name", "Notification"))
-                            .add("topic", n.getTopic())
-                            .add("data", JsonParser.parseString(n.getData()))
-                            .toString();
-
-                    Flux.fromIterable(contexts)
-                            .flatMap(context -> context.getOutbound().sendString(Mono.just(notificationString), CHARSET))
-                            .subscribe();
-                } catch (JsonParseException e) {
-                    log.warn("Invalid notification data received through pub/sub: {} {} {}", n.getId(), n.getTopic(), n.getData());
-                }
-            });
-
+            contexts.stream()
+                    .collect(Collectors.groupingBy(WebsocketApiContext::getCodec))
+                    .forEach((codec, codecContexts) -> this.send(codec, codecContexts, notification.get(), data));
         } catch (IllegalArgumentException e) {
             log.warn("Invalid notification package received through pub/sub: {}", message);
         }
     }
+
+    /**
+     * Encodes the notification once per codec and queues it for all connections using that codec.
+     * With a coalescing policy only the latest notification about the same entity is kept for slow clients,
+     * notifications about different entities (e.g. two chat messages) or without an id never replace each other.
+     */
+    private void send(final ApiCodec codec, final List<WebsocketApiContext> contexts, final Notification notification, final JsonElement data) {
+        final ByteBuf frame = ApiResponseWriter.write(ByteBufAllocator.DEFAULT, codec, writer -> {
+            writer.beginObject();
+            writer.name("status").beginObject().name("code").value(900).name("name").value("Notification").endObject();
+            writer.name("topic").value(notification.getTopic());
+            writer.name("sequence").value(notification.getSequence());
+            writer.name("data");
+            JsonUtils.write(data, writer);
+            writer.endObject();
+        });
+
+        try {
+            final String key = getKey(notification.getTopic(), data);
+            contexts.forEach(context -> context.push(frame.retainedDuplicate(), key));
+        } finally {
+            frame.release();
+        }
+    }
+
+    /**
+     * @return the topic and the {@code id} of the entity the notification is about, or {@code null} if it has no id
+     */
+    private static String getKey(final String topic, final JsonElement data) {
+        if (!data.isJsonObject()) return null;
+
+        final JsonElement id = data.getAsJsonObject().get("id");
+        return id == null || !id.isJsonPrimitive() ? null : topic + ":" + id.getAsString();
+    }
 }
@@ -19,14 +19,23 @@ public class RedisConfiguration {
         return new MessageListenerAdapter(receiver, "receiveMessage");
     }
 
+    @Bean("endpointStateListenerAdapter")
+    MessageListenerAdapter endpointStateListenerAdapter(final EndpointStateService endpointStateService) {
+        return new MessageListenerAdapter(endpointStateService, "receiveMessage");
+    }
+
     @Bean
     RedisMessageListenerContainer redisMessageListenerContainer(
             final RedisConnectionFactory connectionFactory,
-            @Qualifier("notificationListenerAdapter") final MessageListenerAdapter listenerAdapter
+            @Qualifier("notificationListenerAdapter") final MessageListenerAdapter listenerAdapter,
+            @Qualifier("endpointStateListenerAdapter") final MessageListenerAdapter endpointStateListenerAdapter
     ) {
         final RedisMessageListenerContainer listenerContainer = new RedisMessageListenerContainer();
         listenerContainer.setConnectionFactory(connectionFactory);
-        listenerContainer.setMessageListeners(Map.of(listenerAdapter, Collections.singleton(new PatternTopic("notifications"))));
+        listenerContainer.setMessageListeners(Map.of(
+                listenerAdapter, Collections.singleton(new PatternTopic("notifications")),
+                endpointStateListenerAdapter, Collections.singleton(new PatternTopic(EndpointStateService.TOPIC))
+        ));
         return listenerContainer;
     }
 }
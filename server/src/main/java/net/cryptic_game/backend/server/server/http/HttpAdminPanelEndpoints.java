@@ -1,5 +1,6 @@
 package net.cryptic_game.backend.server.server.http;
 
+import com.google.gson.JsonObject;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import lombok.RequiredArgsConstructor;
 import net.cryptic_game.backend.base.api.annotations.ApiEndpoint;
@@ -7,9 +8,14 @@ import net.cryptic_game.backend.base.api.annotations.ApiEndpointCollection;
 import net.cryptic_game.backend.base.api.annotations.ApiParameter;
 import net.cryptic_game.backend.base.api.data.ApiEndpointData;
 import net.cryptic_game.backend.base.api.data.ApiResponse;
+import net.cryptic_game.backend.base.api.data.ApiSchedulerType;
 import net.cryptic_game.backend.base.api.data.ApiType;
+import net.cryptic_game.backend.base.api.executor.ApiEndpointMetrics;
+import net.cryptic_game.backend.base.api.executor.ApiEndpoints;
+import net.cryptic_game.backend.base.api.executor.ApiMetrics;
 import net.cryptic_game.backend.base.api.handler.websocket.WebsocketApiInitializer;
 import net.cryptic_game.backend.base.json.JsonBuilder;
+import net.cryptic_game.backend.server.redis.EndpointStateService;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Component;
 
@@ -17,22 +23,30 @@ import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Component
-@ApiEndpointCollection(id = "admin_panel", description = "Endpoints for the admin panel", type = ApiType.REST, authenticator = HttpServerAuthenticator.class)
+@ApiEndpointCollection(
+        id = "admin_panel",
+        description = "Endpoints for the admin panel",
+        type = ApiType.REST,
+        authenticator = HttpServerAuthenticator.class,
+        scheduler = ApiSchedulerType.BOUNDED_ELASTIC
+)
 public final class HttpAdminPanelEndpoints {
 
     private final ApplicationContext context;
+    private final EndpointStateService endpointStateService;
     private WebsocketApiInitializer websocketApiService = null;
 
     @ApiEndpoint(id = "endpoints")
     public ApiResponse getEndpoints() {
         if (this.websocketApiService == null) this.websocketApiService = this.context.getBean(WebsocketApiInitializer.class);
-        return new ApiResponse(HttpResponseStatus.OK, this.websocketApiService.getEndpoints()
+        final ApiEndpoints endpoints = this.websocketApiService.getEndpoints();
+        return new ApiResponse(HttpResponseStatus.OK, endpoints.getAll()
                 .entrySet()
                 .stream()
                 .map(entry ->
                         JsonBuilder.create("id", entry.getKey())
-                                .add("description", entry.getValue().getDescription()).
-                                add("disabled", entry.getValue().isDisabled())
+                                .add("description", entry.getValue().getDescription())
+                                .add("disabled", endpoints.isDisabled(entry.getKey()))
                 )
                 .collect(Collectors.toSet()));
     }
@@ -44,7 +58,7 @@ public final class HttpAdminPanelEndpoints {
         if (endpointData == null) {
             return new ApiResponse(HttpResponseStatus.NOT_FOUND, "ENDPOINT_NOT_FOUND");
         }
-        return new ApiResponse(HttpResponseStatus.OK, endpointData);
+        return new ApiResponse(HttpResponseStatus.OK, serialize(id, endpointData));
     }
 
     @ApiEndpoint(id = "enable")
@@ -54,8 +68,8 @@ public final class HttpAdminPanelEndpoints {
         if (endpointData == null) {
             return new ApiResponse(HttpResponseStatus.NOT_FOUND, "ENDPOINT_NOT_FOUND");
         }
-        endpointData.setDisabled(false);
-        return new ApiResponse(HttpResponseStatus.OK, endpointData);
+        this.endpointStateService.setDisabled(id, false);
+        return new ApiResponse(HttpResponseStatus.OK, serialize(id, endpointData));
     }
 
     @ApiEndpoint(id = "disable")
@@ -65,8 +79,35 @@ public final class HttpAdminPanelEndpoints {
         if (endpointData == null) {
             return new ApiResponse(HttpResponseStatus.NOT_FOUND, "ENDPOINT_NOT_FOUND");
         }
-        endpointData.setDisabled(true);
-        return new ApiResponse(HttpResponseStatus.OK, endpointData);
+        this.endpointStateService.setDisabled(id, true);
+        return new ApiResponse(HttpResponseStatus.OK, serialize(id, endpointData));
     }
 
+    @ApiEndpoint(id = "reset")
+    public ApiResponse resetEndpoint(@ApiParameter(id = "id") final String id) {
+        if (this.websocketApiService == null) this.websocketApiService = this.context.getBean(WebsocketApiInitializer.class);
+        final ApiEndpointData endpointData = this.websocketApiService.getEndpoints().get(id);
+        if (endpointData == null) {
+            return new ApiResponse(HttpResponseStatus.NOT_FOUND, "ENDPOINT_NOT_FOUND");
+        }
+        this.endpointStateService.reset(id);
+        return new ApiResponse(HttpResponseStatus.OK, serialize(id, endpointData));
+    }
+
+    @ApiEndpoint(id = "metrics")
+    public ApiResponse getMetrics(@ApiParameter(id = "id", required = false) final String id) {
+        if (id == null) return new ApiResponse(HttpResponseStatus.OK, ApiMetrics.getEndpoints());
+
+        final ApiEndpointMetrics metrics = ApiMetrics.getEndpoint(id);
+        if (metrics == null) {
+            return new ApiResponse(HttpResponseStatus.NOT_FOUND, "ENDPOINT_NOT_FOUND");
+        }
+        return new ApiResponse(HttpResponseStatus.OK, metrics);
+    }
+
+    private JsonObject serialize(final String id, final ApiEndpointData endpointData) {
+        return JsonBuilder.create(endpointData)
+                .add("disabled", this.websocketApiService.getEndpoints().isDisabled(id))
+                .build();
+    }
 }
@@ -1,26 +1,32 @@
 package net.cryptic_game.backend.server.server.websocket;
 
-import com.google.gson.JsonElement;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.QueryStringEncoder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.cryptic_game.backend.base.api.annotations.ApiParameter;
+import net.cryptic_game.backend.base.api.codec.ApiCodecs;
 import net.cryptic_game.backend.base.api.data.ApiParameterType;
 import net.cryptic_game.backend.base.api.data.ApiResponse;
+import net.cryptic_game.backend.base.api.executor.ApiSingleFlight;
+import net.cryptic_game.backend.base.api.handler.ApiRequestParser;
 import net.cryptic_game.backend.base.api.handler.websocket.WebsocketApiRequest;
 import net.cryptic_game.backend.base.daemon.Daemon;
 import net.cryptic_game.backend.base.daemon.DaemonEndpointData;
-import net.cryptic_game.backend.base.json.JsonBuilder;
 import net.cryptic_game.backend.data.sql.entities.user.User;
 import reactor.core.publisher.Mono;
 import reactor.netty.http.client.HttpClient;
 
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * No {@link net.cryptic_game.backend.base.api.annotations.ApiEndpointCollection}!
@@ -30,6 +36,8 @@ import java.util.Optional;
 public final class WebSocketDaemonEndpoints {
 
     private static final Charset CHARSET = StandardCharsets.UTF_8;
+    private static final String USER_ID = "user_id";
+    private final ApiSingleFlight<List<Object>> singleFlight = new ApiSingleFlight<>();
 
     public Mono<ApiResponse> send(@ApiParameter(id = "request", type = ApiParameterType.REQUEST) final WebsocketApiRequest request) {
         final Optional<User> user = request.getContext().get(User.class);
@@ -46,13 +54,54 @@ public final class WebSocketDaemonEndpoints {
         final DaemonEndpointData daemonEndpoint = (DaemonEndpointData) request.getEndpointData();
         final Daemon daemon = daemonEndpoint.getDaemon();
 
-        final JsonElement body = JsonBuilder.create(request.getData())
-                .add("user_id", user.get().getId())
-                .build();
+        // the data is only split into its fields, not parsed, a user_id sent by the client is dropped
+        final Map<String, ByteBuf> data;
+        try {
+            data = ApiRequestParser.readObject(Unpooled.wrappedBuffer(request.getRawData()));
+        } catch (JsonParseException e) {
+            return Mono.just(new ApiResponse(HttpResponseStatus.BAD_REQUEST, "JSON_SYNTAX"));
+        }
+        data.remove(USER_ID);
+
+        final UUID userId = user.get().getId();
+        final byte[] body = body(data, userId);
+        final String uri = uri(request);
+
+        // the fields are compared by their bytes, so the order of the fields does not prevent coalescing
+        if (!daemonEndpoint.isSingleFlight()) return this.send(request, daemon, uri, body);
+        return this.singleFlight.execute(List.of(uri, userId, data), () -> this.send(request, daemon, uri, body));
+    }
+
+    /**
+     * Writes the fields of the data again, with the id of the session as {@code user_id}, so the daemon only ever sees that one.
+     */
+    private static byte[] body(final Map<String, ByteBuf> data, final UUID userId) {
+        final ByteBuf body = Unpooled.buffer();
+        body.writeByte('{');
+        data.forEach((key, value) -> {
+            ApiCodecs.JSON.writeString(body, key);
+            body.writeByte(':').writeBytes(value, value.readerIndex(), value.readableBytes()).writeByte(',');
+        });
+        ApiCodecs.JSON.writeString(body, USER_ID);
+        body.writeByte(':');
+        ApiCodecs.JSON.writeString(body, userId.toString());
+        body.writeByte('}');
+        return ApiRequestParser.readBytes(body);
+    }
+
+    /**
+     * Passes the selected fields on, so the daemon only writes them.
+     */
+    private static String uri(final WebsocketApiRequest request) {
+        final QueryStringEncoder encoder = new QueryStringEncoder("/" + request.getEndpoint());
+        if (request.getFields() != null) encoder.addParam("fields", String.join(",", request.getFields()));
+        return encoder.toString();
+    }
 
+    private Mono<ApiResponse> send(final WebsocketApiRequest request, final Daemon daemon, final String uri, final byte[] body) {
         final HttpClient.ResponseReceiver<?> daemonResponse = daemon.getHttpClient().post()
-                .uri("/" + request.getEndpoint())
-                .send(Mono.just(Unpooled.copiedBuffer(body.toString(), CHARSET)));
+                .uri(uri)
+                .send(Mono.fromCallable(() -> Unpooled.wrappedBuffer(body)));
 
         return daemonResponse.responseSingle((response, byteBufMono) -> byteBufMono.asString(CHARSET)
                 .map(content -> {
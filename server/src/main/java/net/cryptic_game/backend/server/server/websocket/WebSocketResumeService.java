@@ -0,0 +1,68 @@
+package net.cryptic_game.backend.server.server.websocket;
+
+import lombok.RequiredArgsConstructor;
+import net.cryptic_game.backend.base.api.handler.websocket.WebsocketApiContext;
+import net.cryptic_game.backend.base.api.handler.websocket.WebsocketApiContexts;
+import net.cryptic_game.backend.base.timeout.TimeoutService;
+import net.cryptic_game.backend.data.Constants;
+import net.cryptic_game.backend.data.redis.NotificationBuffer;
+import net.cryptic_game.backend.data.redis.entities.ResumeSession;
+import net.cryptic_game.backend.data.redis.repositories.ResumeSessionRepository;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Issues the resume tokens of logged in websocket connections.
+ * A token is kept alive while its connection is open and expires between half and all of
+ * {@link Constants#RESUME_EXPIRE} after the connection was closed.
+ */
+@Service
+@RequiredArgsConstructor
+public class WebSocketResumeService {
+
+    private static final Duration KEEP_ALIVE = Duration.ofSeconds(Constants.RESUME_EXPIRE / 2);
+    private static final Duration EXPIRE = Duration.ofSeconds(Constants.RESUME_EXPIRE);
+    private static final String ID_SET = "resume_session";
+    private static final String KEY = ID_SET + ":";
+    private static final String PHANTOM = ":phantom";
+
+    private final ResumeSessionRepository resumeSessionRepository;
+    private final NotificationBuffer notificationBuffer;
+    private final WebsocketApiContexts contexts;
+    private final TimeoutService timeoutService;
+    private final StringRedisTemplate redisTemplate;
+
+    public ResumeSession issue(final WebsocketApiContext context, final UUID userId) {
+        final ResumeSession resumeSession = this.resumeSessionRepository.createResumeSession(userId);
+        this.notificationBuffer.touch(userId);
+        this.timeoutService.schedule(KEEP_ALIVE, () -> this.keepAlive(context, resumeSession));
+        return resumeSession;
+    }
+
+    /**
+     * Consumes a resume token, so it can not be used by two connections.
+     * Only the connection whose delete removed the token gets the session.
+     */
+    public Optional<ResumeSession> consume(final UUID resumeToken) {
+        final Optional<ResumeSession> resumeSession = this.resumeSessionRepository.findById(resumeToken);
+        if (resumeSession.isEmpty() || !Boolean.TRUE.equals(this.redisTemplate.delete(KEY + resumeToken))) return Optional.empty();
+
+        // the repository skips its cleanup once the hash is gone, so the id set of the repository is cleaned up here
+        this.redisTemplate.opsForSet().remove(ID_SET, resumeToken.toString());
+        this.redisTemplate.delete(KEY + resumeToken + PHANTOM);
+        return resumeSession;
+    }
+
+    private void keepAlive(final WebsocketApiContext context, final ResumeSession resumeSession) {
+        // the token may have been used by a new connection before this one was noticed to be closed
+        // the expiry is only restarted if the token still exists, so a consumed token is not brought back
+        if (!this.contexts.getAll().contains(context) || !Boolean.TRUE.equals(this.redisTemplate.expire(KEY + resumeSession.getId(), EXPIRE))) return;
+
+        this.notificationBuffer.touch(resumeSession.getUserId());
+        this.timeoutService.schedule(KEEP_ALIVE, () -> this.keepAlive(context, resumeSession));
+    }
+}
@@ -1,5 +1,7 @@
 package net.cryptic_game.backend.server.server.websocket;
 
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import lombok.RequiredArgsConstructor;
 import net.cryptic_game.backend.base.api.annotations.ApiEndpoint;
@@ -8,13 +10,21 @@ import net.cryptic_game.backend.base.api.annotations.ApiParameter;
 import net.cryptic_game.backend.base.api.data.ApiParameterType;
 import net.cryptic_game.backend.base.api.data.ApiResponse;
 import net.cryptic_game.backend.base.api.data.ApiType;
+import net.cryptic_game.backend.base.api.handler.websocket.WebsocketApiContexts;
 import net.cryptic_game.backend.base.api.handler.websocket.WebsocketApiRequest;
+import net.cryptic_game.backend.base.api.handler.websocket.WebsocketApiContext;
 import net.cryptic_game.backend.base.json.JsonBuilder;
+import net.cryptic_game.backend.base.json.JsonUtils;
+import net.cryptic_game.backend.data.redis.NotificationBuffer;
+import net.cryptic_game.backend.data.redis.entities.Notification;
+import net.cryptic_game.backend.data.redis.entities.ResumeSession;
 import net.cryptic_game.backend.data.redis.entities.Session;
 import net.cryptic_game.backend.data.redis.repositories.SessionRepository;
 import net.cryptic_game.backend.data.sql.entities.user.User;
 import net.cryptic_game.backend.data.sql.repositories.user.UserRepository;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @RequiredArgsConstructor
@@ -23,6 +33,9 @@ public final class WebSocketUserEndpoints {
 
     private final UserRepository userRepository;
     private final SessionRepository sessionRepository;
+    private final WebsocketApiContexts contexts;
+    private final WebSocketResumeService resumeService;
+    private final NotificationBuffer notificationBuffer;
 
     @ApiEndpoint(id = "session")
     public ApiResponse session(@ApiParameter(id = "request", type = ApiParameterType.REQUEST) final WebsocketApiRequest request,
@@ -43,9 +56,59 @@ public final class WebSocketUserEndpoints {
         }
 
         this.sessionRepository.delete(session);
-        request.getContext().set(user);
+        final ResumeSession resumeSession = this.login(request.getContext(), user);
 
-        return new ApiResponse(HttpResponseStatus.OK, JsonBuilder.create("session", session).add("user", user));
+        return new ApiResponse(HttpResponseStatus.OK, JsonBuilder.create("session", session).add("user", user)
+                .add("resume_token", resumeSession.getId())
+                .add("sequence", this.notificationBuffer.getSequence(user.getId())));
+    }
+
+    /**
+     * Restores the login of a connection, which was closed less than {@link net.cryptic_game.backend.data.Constants#RESUME_EXPIRE} seconds ago,
+     * and replays the notifications after the last sequence the client received.
+     * If some of them are not buffered anymore, {@code replayed} is {@code false} and the client has to reload its state.
+     * Notifications published meanwhile may be both replayed and pushed, the client has to skip sequences it already received.
+     */
+    @ApiEndpoint(id = "resume")
+    public ApiResponse resume(@ApiParameter(id = "request", type = ApiParameterType.REQUEST) final WebsocketApiRequest request,
+                              @ApiParameter(id = "resume_token") final UUID resumeToken,
+                              @ApiParameter(id = "sequence") final long sequence) {
+        if (request.getContext().get(User.class).isPresent()) {
+            return new ApiResponse(HttpResponseStatus.FORBIDDEN, "ALREADY_LOGGED_IN");
+        }
+
+        final ResumeSession previous = this.resumeService.consume(resumeToken).orElse(null);
+        if (previous == null) {
+            return new ApiResponse(HttpResponseStatus.NOT_FOUND, "INVALID_RESUME_TOKEN");
+        }
+
+        final User user = this.userRepository.findById(previous.getUserId()).orElse(null);
+        if (user == null) {
+            return new ApiResponse(HttpResponseStatus.NOT_FOUND, "USER_NOT_FOUND");
+        }
+
+        final ResumeSession resumeSession = this.login(request.getContext(), user);
+        final long current = this.notificationBuffer.getSequence(user.getId());
+        final Optional<List<Notification>> notifications = this.notificationBuffer.since(user.getId(), sequence);
+
+        return new ApiResponse(HttpResponseStatus.OK, JsonBuilder.create("user", user)
+                .add("resume_token", resumeSession.getId())
+                .add("sequence", current)
+                .add("replayed", notifications.isPresent())
+                .add("notifications", JsonUtils.toArray(notifications.orElse(List.of()), this::serializeNotification)));
+    }
+
+    private JsonObject serializeNotification(final Notification notification) {
+        return JsonBuilder.create("topic", notification.getTopic())
+                .add("sequence", notification.getSequence())
+                .add("data", JsonParser.parseString(notification.getData()))
+                .build();
+    }
+
+    private ResumeSession login(final WebsocketApiContext context, final User user) {
+        context.set(user);
+        this.contexts.setUser(context, user.getId());
+        return this.resumeService.issue(context, user.getId());
     }
 
     @ApiEndpoint(id = "get")